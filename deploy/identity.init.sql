@@ -9,6 +9,8 @@ DROP TABLE IF EXISTS `oauth2_authorization_consent`;
 DROP TABLE IF EXISTS `oauth2_authorization`;
 DROP TABLE IF EXISTS `oauth2_registered_client`;
 DROP TABLE IF EXISTS `authorities`;
+DROP TABLE IF EXISTS `user_collection_version`;
+DROP TABLE IF EXISTS `user_outbox`;
 DROP TABLE IF EXISTS `users`;
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
@@ -16,7 +18,10 @@ CREATE TABLE IF NOT EXISTS users (
     password VARCHAR(255) NOT NULL,
     name VARCHAR(255),
     email VARCHAR(255),
-    enabled INT NOT NULL
+    enabled INT NOT NULL,
+    roles INT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    FULLTEXT INDEX ft_users_search (username, name, email) WITH PARSER ngram
 );
 
 CREATE TABLE authorities (
@@ -26,27 +31,42 @@ CREATE TABLE authorities (
     CONSTRAINT fk_authorities_user FOREIGN KEY (username) REFERENCES users(username) ON DELETE CASCADE
 );
 
+CREATE TABLE user_collection_version (
+    id INT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO user_collection_version (id, version) VALUES (1, 0);
+
+CREATE TABLE user_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(45) NOT NULL,
+    occurred_at TIMESTAMP(3) NOT NULL
+);
+
 -- Password: password (encoded using BCrypt)
-INSERT INTO users (username, password, name, email, enabled)
-VALUES ('superadmin', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Kent Clark', 'kentc@rpulse.com', 1);
+INSERT INTO users (username, password, name, email, enabled, roles)
+VALUES ('superadmin', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Kent Clark', 'kentc@rpulse.com', 1, 1);
 
 INSERT INTO authorities (username, authority)
 VALUES ('superadmin', 'ADMIN');
 
-INSERT INTO users (username, password, name, email, enabled)
-VALUES ('batman', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Bruce Wayne', 'brucew@rpulse.com', 1);
+INSERT INTO users (username, password, name, email, enabled, roles)
+VALUES ('batman', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Bruce Wayne', 'brucew@rpulse.com', 1, 2);
 
 INSERT INTO authorities (username, authority)
 VALUES ('batman', 'CASHIER');
 
-INSERT INTO users (username, password, name, email, enabled)
-VALUES ('ironman', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Tony Stark', 'tonys@rpulse.com', 1);
+INSERT INTO users (username, password, name, email, enabled, roles)
+VALUES ('ironman', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Tony Stark', 'tonys@rpulse.com', 1, 2);
 
 INSERT INTO authorities (username, authority)
 VALUES ('ironman', 'CASHIER');
 
-INSERT INTO users (username, password, name, email, enabled)
-VALUES ('blackwidow', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Natasha', 'natasha@rpulse.com', 1);
+INSERT INTO users (username, password, name, email, enabled, roles)
+VALUES ('blackwidow', '$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C', 'Natasha', 'natasha@rpulse.com', 1, 4);
 
 INSERT INTO authorities (username, authority)
 VALUES ('blackwidow', 'MANAGER');
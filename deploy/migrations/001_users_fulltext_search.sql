@@ -0,0 +1,7 @@
+-- Full-text index backing GET /api/users/search.
+-- The ngram parser indexes every 2-character token, so substring searches on
+-- name, username and email use the index instead of a LIKE '%x%' table scan.
+USE RPUserDB;
+
+ALTER TABLE users
+    ADD FULLTEXT INDEX ft_users_search (username, name, email) WITH PARSER ngram;
@@ -0,0 +1,18 @@
+-- Stores each user's roles as a bitmask on the users row, so reading a user is a single row fetch.
+-- Bits match Authorities: ADMIN = 1, CASHIER = 2, MANAGER = 4.
+-- The authorities table stays in place: the IAM server reads it, and the user service keeps it in step.
+USE RPUserDB;
+
+ALTER TABLE users
+    ADD COLUMN roles INT NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET u.roles = COALESCE((
+    SELECT BIT_OR(CASE a.authority
+                      WHEN 'ADMIN' THEN 1
+                      WHEN 'CASHIER' THEN 2
+                      WHEN 'MANAGER' THEN 4
+                      ELSE 0
+                  END)
+    FROM authorities a
+    WHERE a.username = u.username), 0);
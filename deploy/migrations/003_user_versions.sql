@@ -0,0 +1,14 @@
+-- Versions behind the ETags of the user endpoints.
+-- users.version is the JPA @Version of each user. user_collection_version holds one counter that is
+-- bumped by every write, so the list endpoints can answer If-None-Match with a primary-key read.
+USE RPUserDB;
+
+ALTER TABLE users
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS user_collection_version (
+    id INT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO user_collection_version (id, version) VALUES (1, 0);
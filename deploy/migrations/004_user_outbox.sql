@@ -0,0 +1,12 @@
+-- Transactional outbox of user change events.
+-- Rows are inserted in the same transaction as the change they describe and deleted by the
+-- application's publisher once the configured sink has accepted them.
+USE RPUserDB;
+
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(45) NOT NULL,
+    occurred_at TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,103 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queueing model of the two execution modes; it does not run the service.
+ * <p>
+ * Each JMH thread is a client submitting one request at a time. A request either hits the cache
+ * (a little CPU work) or takes a semaphore "connection" and sleeps for a simulated JDBC round trip.
+ * PLATFORM bounds concurrency with a fixed pool sized like Tomcat's default 200 workers; VIRTUAL
+ * runs each request on its own virtual thread behind an admission semaphore that, like
+ * {@code ConcurrencyLimitInterceptor}, gives up after the admission timeout and counts the request
+ * as rejected. Use it to reason about where requests queue, not to predict service latency;
+ * for that, run the loadtest harness against the app with
+ * {@code spring.threads.virtual.enabled} on and off.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class AdmissionQueueingModelBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int REQUESTS_PER_CONNECTION = 4;
+    private static final Object REJECTED = new Object();
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    @Param({"10"})
+    public int jdbcPoolSize;
+
+    @Param({"2"})
+    public int queryMillis;
+
+    @Param({"500"})
+    public int admissionTimeoutMillis;
+
+    // Share of requests that miss the cache and go to the database
+    @Param({"0.2"})
+    public double databaseShare;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+    private Semaphore admission;
+
+    @Setup
+    public void setUp() {
+        connections = new Semaphore(jdbcPoolSize, true);
+        if ("VIRTUAL".equals(mode)) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            admission = new Semaphore(jdbcPoolSize * REQUESTS_PER_CONNECTION, true);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            admission = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object request(Blackhole blackhole) throws Exception {
+        boolean database = ThreadLocalRandom.current().nextDouble() < databaseShare;
+        return executor.submit(() -> handle(database, blackhole)).get();
+    }
+
+    private Object handle(boolean database, Blackhole blackhole) throws InterruptedException {
+        // A request that cannot be admitted in time is what the interceptor answers with 503
+        if (admission != null && !admission.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            return REJECTED;
+        }
+        try {
+            if (database) {
+                connections.acquire();
+                try {
+                    Thread.sleep(queryMillis);
+                } finally {
+                    connections.release();
+                }
+            }
+            Blackhole.consumeCPU(2_000);
+            blackhole.consume(database);
+            return database;
+        } finally {
+            if (admission != null) {
+                admission.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Role name parsing: the case-insensitive linear scan in {@link Authorities#fromString(String)}
+ * against the enum's own {@code valueOf}, and the bitmask encoding used by {@code users.roles}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthoritiesBenchmark {
+
+    @Param({"ADMIN", "MANAGER"})
+    public String authority;
+
+    private String lowerCaseAuthority;
+    private Set<Authorities> roles;
+    private int mask;
+
+    @Setup
+    public void setUp() {
+        lowerCaseAuthority = authority.toLowerCase();
+        roles = EnumSet.of(Authorities.valueOf(authority), Authorities.CASHIER);
+        mask = Authorities.toMask(roles);
+    }
+
+    @Benchmark
+    public Authorities fromString() {
+        return Authorities.fromString(lowerCaseAuthority);
+    }
+
+    @Benchmark
+    public Authorities valueOf() {
+        return Authorities.valueOf(authority);
+    }
+
+    @Benchmark
+    public int toMask() {
+        return Authorities.toMask(roles);
+    }
+
+    @Benchmark
+    public Set<Authorities> fromMask() {
+        return Authorities.fromMask(mask);
+    }
+}
@@ -0,0 +1,114 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.service.MicroBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Database round trips per lookup with and without {@code user.lookup-batching}, for bursts of
+ * {@code concurrency} simultaneous cache misses on distinct users. The database is simulated with a
+ * fixed round-trip latency plus a small per-row cost, so the {@code roundTrips} and {@code lookups}
+ * counters, not the throughput, are the result to compare: their ratio is the number of queries each
+ * lookup costs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class LookupBatchingBenchmark {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+    private static final long PER_ROW_NANOS = TimeUnit.MICROSECONDS.toNanos(2);
+    private static final int USERS = 1_000_000;
+
+    @Param({"1", "8", "64", "256"})
+    public int concurrency;
+
+    @Param({"2"})
+    public int windowMillis;
+
+    @Param({"100"})
+    public int maxBatchSize;
+
+    private final AtomicLong queries = new AtomicLong();
+    private ExecutorService callers;
+    private MicroBatcher<Long, String> batcher;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long roundTrips;
+        public long lookups;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+            lookups = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+        batcher = new MicroBatcher<>("id", this::query, Duration.ofMillis(windowMillis), maxBatchSize,
+                new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        callers.shutdownNow();
+    }
+
+    // Stands in for SELECT ... WHERE id IN (...): one round trip, whatever the number of ids
+    private Map<Long, String> query(Set<Long> ids) {
+        queries.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS + PER_ROW_NANOS * ids.size());
+        Map<Long, String> rows = new HashMap<>();
+        for (Long id : ids) {
+            rows.put(id, "user-" + id);
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public void direct(Counters counters) throws InterruptedException, ExecutionException {
+        burst(counters, id -> query(Set.of(id)).get(id));
+    }
+
+    @Benchmark
+    public void batched(Counters counters) throws InterruptedException, ExecutionException {
+        burst(counters, batcher::load);
+    }
+
+    private void burst(Counters counters, Function<Long, String> lookup)
+            throws InterruptedException, ExecutionException {
+        List<Future<String>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            long id = ThreadLocalRandom.current().nextLong(USERS);
+            results.add(callers.submit(() -> lookup.apply(id)));
+        }
+        for (Future<String> result : results) {
+            result.get();
+        }
+        counters.lookups += concurrency;
+        counters.roundTrips += queries.getAndSet(0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.service.PasswordHashAlgorithm;
+import com.retailpulse.usermanagement.service.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes per second, per core, for each algorithm across a range of work factors: the cost side of
+ * {@code user.password.hashing.target-time}. Divide by the hashing pool size to see how many creates
+ * and password changes one instance can absorb at a given setting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "StrongPass1";
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12",
+            "pbkdf2:600000", "pbkdf2:1200000",
+            "argon2:2", "argon2:4", "argon2:8"})
+    public String setting;
+
+    private PasswordHasher hasher;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = setting.split(":");
+        hasher = new PasswordHasher(PasswordHashAlgorithm.fromId(parts[0]), Integer.parseInt(parts[1]));
+        hash = hasher.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.matches(PASSWORD, hash);
+    }
+}
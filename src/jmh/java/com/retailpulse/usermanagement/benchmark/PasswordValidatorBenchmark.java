@@ -0,0 +1,32 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.domain.exception.MalformedPasswordException;
+import com.retailpulse.usermanagement.service.PasswordValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single character scan in {@link PasswordValidator#isValid(String)}, for accepted passwords and for
+ * rejected ones, which also pay for building the exception.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordValidatorBenchmark {
+
+    @Param({"StrongPass1", "aVeryLongPassphraseThatOnlyHasItsDigitAtTheEnd9", "lettersonlypassword"})
+    public String password;
+
+    @Benchmark
+    public boolean isValid() {
+        try {
+            return PasswordValidator.isValid(password);
+        } catch (MalformedPasswordException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link User.Builder#build()} validates the email unless the builder is {@code trusted()}, as it is
+ * for rows loaded from the database and DTOs that already passed {@code UserValidator}. Comparing the
+ * trusted and untrusted email cases shows what the validator costs; the no-email case is the floor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserBuilderBenchmark {
+
+    private final Set<Authorities> authorities = Set.of(Authorities.CASHIER);
+
+    @Benchmark
+    public User buildWithEmail() {
+        return new User.Builder("cashier01")
+                .password("hashed")
+                .name("Store Cashier")
+                .email("cashier01@rpulse.com")
+                .authorities(authorities)
+                .build();
+    }
+
+    @Benchmark
+    public User buildTrustedWithEmail() {
+        return new User.Builder("cashier01")
+                .password("hashed")
+                .name("Store Cashier")
+                .email("cashier01@rpulse.com")
+                .authorities(authorities)
+                .trusted()
+                .build();
+    }
+
+    @Benchmark
+    public User buildWithoutEmail() {
+        return new User.Builder("cashier01")
+                .password("hashed")
+                .name("Store Cashier")
+                .authorities(authorities)
+                .build();
+    }
+}
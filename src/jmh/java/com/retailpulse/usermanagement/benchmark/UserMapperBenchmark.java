@@ -0,0 +1,58 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity -> domain -> DTO conversions that every read and write goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserMapperBenchmark {
+
+    private UserEntity userEntity;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userEntity = new UserEntity("cashier01", "$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C",
+                "Store Cashier", "cashier01@rpulse.com", true);
+        userEntity.setRoles(Authorities.CASHIER.getBit() | Authorities.MANAGER.getBit());
+        user = UserMapper.toDomain(userEntity);
+    }
+
+    @Benchmark
+    public User toDomain() {
+        return UserMapper.toDomain(userEntity);
+    }
+
+    @Benchmark
+    public ViewUserDTO toDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public ViewUserDTO toDomainAndDTO() {
+        return UserMapper.toDTO(UserMapper.toDomain(userEntity));
+    }
+
+    @Benchmark
+    public UserEntity toNewEntity() {
+        return UserMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public UserEntity toExistingEntity() {
+        return UserMapper.toEntity(user, userEntity);
+    }
+}
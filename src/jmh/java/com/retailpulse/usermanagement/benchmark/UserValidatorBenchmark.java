@@ -0,0 +1,39 @@
+package com.retailpulse.usermanagement.benchmark;
+
+import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.service.UserValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of {@link UserValidator} over a create request, for a valid one and for one with every field
+ * invalid. Run with {@code -prof gc} to see the allocation rate, which is mostly the email check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String request;
+
+    private CreateUserDTO dto;
+
+    @Setup
+    public void setUp() {
+        dto = request.equals("valid")
+                ? new CreateUserDTO("john", "StrongPass1!", "john@example.com", "John Doe", List.of("ADMIN", "CASHIER"))
+                : new CreateUserDTO(" ", "password", "johnexample.com", "John Doe", List.of("OWNER"));
+    }
+
+    @Benchmark
+    public List<FieldErrorDTO> validateCreate() {
+        return UserValidator.validate(dto);
+    }
+}
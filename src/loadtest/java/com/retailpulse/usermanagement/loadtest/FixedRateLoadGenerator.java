@@ -0,0 +1,152 @@
+package com.retailpulse.usermanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a fixed schedule: request {@code i} is due at {@code start + i / rate}, whether or not
+ * earlier responses have arrived. Latency is measured from that due time rather than from when the request
+ * actually went out, so a stall that holds back the schedule is charged to every request it delayed instead
+ * of disappearing from the results (coordinated omission). The time from send to response is recorded
+ * separately as the service time, which is what a closed-loop client would have reported.
+ */
+final class FixedRateLoadGenerator {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long LOG_INTERVAL_MILLIS = 1000;
+
+    private final HttpClient client;
+    private final URI base;
+    private final LoadTestProperties properties;
+    private final List<LoadTestOperation> operations;
+    private final int[] cumulativeWeights;
+    private long sequence;
+
+    FixedRateLoadGenerator(HttpClient client, URI base, LoadTestProperties properties) {
+        this.client = client;
+        this.base = base;
+        this.properties = properties;
+        this.operations = properties.mix().entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix gives no operation a positive weight");
+        }
+        this.cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += properties.mix().get(operations.get(i));
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Applies load for {@code duration} and returns what was recorded. When {@code log} is given, the
+     * response times of each second are appended to it as they come in.
+     */
+    LoadTestResult run(Duration duration, HistogramLogWriter log) throws InterruptedException {
+        Map<LoadTestOperation, Recorder> responseTimes = new EnumMap<>(LoadTestOperation.class);
+        Map<LoadTestOperation, LongAdder> errors = new EnumMap<>(LoadTestOperation.class);
+        for (LoadTestOperation operation : operations) {
+            responseTimes.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+        Recorder overall = new Recorder(3);
+        Recorder serviceTime = new Recorder(3);
+        Histogram overallTotal = new Histogram(3);
+
+        Semaphore connections = new Semaphore(properties.connections());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / properties.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        ScheduledExecutorService logger = Executors.newSingleThreadScheduledExecutor();
+        logger.scheduleAtFixedRate(() -> drainInterval(overall, overallTotal, log),
+                LOG_INTERVAL_MILLIS, LOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                connections.acquire();
+
+                LoadTestOperation operation = pick();
+                HttpRequest request = operation.request(base, properties.users(), sequence++, ThreadLocalRandom.current())
+                        .timeout(REQUEST_TIMEOUT)
+                        .build();
+                senders.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (!operation.succeeded(response.statusCode())) {
+                            errors.get(operation).increment();
+                        }
+                    } catch (Exception e) {
+                        errors.get(operation).increment();
+                    } finally {
+                        long received = System.nanoTime();
+                        responseTimes.get(operation).recordValue(received - due);
+                        overall.recordValue(received - due);
+                        serviceTime.recordValue(received - sent);
+                        connections.release();
+                    }
+                });
+            }
+        } finally {
+            logger.shutdownNow();
+            logger.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - start;
+        drainInterval(overall, overallTotal, log);
+
+        Map<LoadTestOperation, Histogram> byOperation = new EnumMap<>(LoadTestOperation.class);
+        Map<LoadTestOperation, Long> errorCounts = new EnumMap<>(LoadTestOperation.class);
+        for (LoadTestOperation operation : operations) {
+            byOperation.put(operation, responseTimes.get(operation).getIntervalHistogram());
+            errorCounts.put(operation, errors.get(operation).sum());
+        }
+        return new LoadTestResult(byOperation, errorCounts, overallTotal, serviceTime.getIntervalHistogram(),
+                Duration.ofNanos(elapsed));
+    }
+
+    private LoadTestOperation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.getLast();
+    }
+
+    private static synchronized void drainInterval(Recorder recorder, Histogram total, HistogramLogWriter log) {
+        Histogram interval = recorder.getIntervalHistogram();
+        total.add(interval);
+        if (log != null && interval.getTotalCount() > 0) {
+            log.outputIntervalHistogram(interval);
+        }
+    }
+}
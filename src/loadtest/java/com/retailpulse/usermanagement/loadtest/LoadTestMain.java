@@ -0,0 +1,73 @@
+package com.retailpulse.usermanagement.loadtest;
+
+import com.retailpulse.usermanagement.UserManagementApplication;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the service on a random port against the in-memory {@code loadtest} database, seeds it, applies a
+ * warm-up and then the recorded load, and reports latency percentiles and throughput. Exits with status 1
+ * when any recorded request failed.
+ *
+ * <p>Writes {@code latency.hlog} (one histogram per second) and an {@code .hgrm} percentile distribution
+ * per operation to {@code loadtest.report-dir}.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(UserManagementApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        int exitCode;
+        try {
+            LoadTestProperties properties = Binder.get(context.getEnvironment())
+                    .bindOrCreate("loadtest", LoadTestProperties.class);
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            exitCode = run(base, properties);
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(URI base, LoadTestProperties properties) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        FixedRateLoadGenerator generator = new FixedRateLoadGenerator(client, base, properties);
+        System.out.printf("Load test: %d users, %d req/s over %d connections, %s warm-up, %s recorded, mix %s%n",
+                properties.users(), properties.rate(), properties.connections(), properties.warmup(),
+                properties.duration(), properties.mix());
+
+        if (!properties.warmup().isZero()) {
+            generator.run(properties.warmup(), null);
+        }
+
+        Files.createDirectories(properties.reportDir());
+        LoadTestResult result;
+        try (PrintStream hlog = new PrintStream(Files.newOutputStream(properties.reportDir().resolve("latency.hlog")))) {
+            HistogramLogWriter log = new HistogramLogWriter(hlog);
+            log.outputLogFormatVersion();
+            log.outputLegend();
+            result = generator.run(properties.duration(), log);
+        }
+        result.print(System.out);
+        result.write(properties.reportDir());
+        System.out.println("Reports written to " + properties.reportDir().toAbsolutePath());
+        return result.failures() == 0 ? 0 : 1;
+    }
+}
@@ -0,0 +1,98 @@
+package com.retailpulse.usermanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.random.RandomGenerator;
+
+/**
+ * The requests a load test sends. Reads and updates pick a seeded user uniformly at random; creates use
+ * a username derived from the request's sequence number so they never collide.
+ */
+public enum LoadTestOperation {
+    GET_BY_ID(200) {
+        @Override
+        HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random) {
+            return HttpRequest.newBuilder(base.resolve("/api/users/id/" + randomId(users, random)));
+        }
+    },
+    GET_BY_USERNAME(200) {
+        @Override
+        HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random) {
+            return HttpRequest.newBuilder(base.resolve("/api/users/username/" + LoadTestSeeder.username(randomId(users, random))));
+        }
+    },
+    LIST_PAGE(200) {
+        @Override
+        HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random) {
+            return HttpRequest.newBuilder(base.resolve("/api/users?size=50&after=" + (randomId(users, random) - 1)));
+        }
+    },
+    LOOKUP(200) {
+        @Override
+        HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random) {
+            StringJoiner ids = new StringJoiner(",");
+            StringJoiner usernames = new StringJoiner(",");
+            for (int i = 0; i < LOOKUP_KEYS; i++) {
+                ids.add(Long.toString(randomId(users, random)));
+                usernames.add('"' + LoadTestSeeder.username(randomId(users, random)) + '"');
+            }
+            return json(base.resolve("/api/users/lookup"), "POST",
+                    "{\"ids\":[" + ids + "],\"usernames\":[" + usernames + "]}");
+        }
+    },
+    PATCH(200) {
+        @Override
+        HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random) {
+            return json(base.resolve("/api/users/" + randomId(users, random)), "PATCH",
+                    "{\"name\":\"Load Test " + sequence + "\"}");
+        }
+    },
+    CREATE(201) {
+        @Override
+        HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random) {
+            String username = "loadtest-new-" + sequence;
+            return json(base.resolve("/api/users"), "POST", "{\"username\":\"" + username + "\",\"password\":\"Password123\","
+                    + "\"email\":\"" + username + "@loadtest.example.com\",\"name\":\"New User\",\"roles\":[\"CASHIER\"]}");
+        }
+    };
+
+    private static final int LOOKUP_KEYS = 10;
+
+    private final int expectedStatus;
+
+    LoadTestOperation(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract HttpRequest.Builder request(URI base, int users, long sequence, RandomGenerator random);
+
+    boolean succeeded(int status) {
+        return status == expectedStatus;
+    }
+
+    // Read-heavy, in line with what production sees: roughly nine reads to every write
+    static Map<LoadTestOperation, Integer> defaultMix() {
+        Map<LoadTestOperation, Integer> mix = new EnumMap<>(LoadTestOperation.class);
+        mix.put(GET_BY_ID, 35);
+        mix.put(GET_BY_USERNAME, 25);
+        mix.put(LIST_PAGE, 15);
+        mix.put(LOOKUP, 15);
+        mix.put(PATCH, 8);
+        mix.put(CREATE, 2);
+        return mix;
+    }
+
+    // Seeded ids run from 1 to users, since the run starts from an empty database
+    private static long randomId(int users, RandomGenerator random) {
+        return 1 + random.nextInt(users);
+    }
+
+    private static HttpRequest.Builder json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+}
@@ -0,0 +1,36 @@
+package com.retailpulse.usermanagement.loadtest;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of one load-test run, bound from {@code loadtest.*} system properties or arguments.
+ *
+ * @param users       synthetic users seeded before the run
+ * @param rate        requests started per second, whatever the response times
+ * @param connections requests allowed in flight at once; when all are busy the schedule falls behind
+ *                    and the delay is charged to the requests that were kept waiting
+ * @param warmup      load applied before recording starts
+ * @param duration    recorded load
+ * @param mix         relative weight of each operation, overriding the default mix; a weight of 0 drops it
+ * @param reportDir   where the interval log and percentile distributions are written
+ */
+public record LoadTestProperties(@DefaultValue("10000") int users,
+                                 @DefaultValue("500") int rate,
+                                 @DefaultValue("64") int connections,
+                                 @DefaultValue("10s") Duration warmup,
+                                 @DefaultValue("60s") Duration duration,
+                                 Map<LoadTestOperation, Integer> mix,
+                                 @DefaultValue("target/loadtest") Path reportDir) {
+
+    public LoadTestProperties {
+        Map<LoadTestOperation, Integer> weights = LoadTestOperation.defaultMix();
+        if (mix != null) {
+            weights.putAll(mix);
+        }
+        mix = weights;
+    }
+}
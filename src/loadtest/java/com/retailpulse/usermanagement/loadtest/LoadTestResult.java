@@ -0,0 +1,80 @@
+package com.retailpulse.usermanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * What one recorded load-test phase measured. Histograms hold nanoseconds; reports are in milliseconds.
+ *
+ * @param responseTimes per-operation latency measured from each request's scheduled start
+ * @param errors        per-operation count of failed requests and unexpected status codes
+ * @param overall       response times of all operations together
+ * @param serviceTime   latency measured from when each request was actually sent
+ */
+record LoadTestResult(Map<LoadTestOperation, Histogram> responseTimes,
+                      Map<LoadTestOperation, Long> errors,
+                      Histogram overall,
+                      Histogram serviceTime,
+                      Duration elapsed) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String ROW = "%-16s %9s %8s %9s %9s %9s %9s %9s %9s%n";
+
+    long requests() {
+        return overall.getTotalCount();
+    }
+
+    long failures() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    double throughput() {
+        return overall.getTotalCount() / (elapsed.toNanos() / 1e9);
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%nRequests: %d in %.1f s (%.1f/s), failures: %d%n",
+                requests(), elapsed.toNanos() / 1e9, throughput(), failures());
+        out.printf(Locale.ROOT, ROW, "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        responseTimes.forEach((operation, histogram) -> printRow(out, operation.name(), histogram, errors.get(operation)));
+        printRow(out, "ALL", overall, failures());
+        printRow(out, "ALL (service)", serviceTime, failures());
+        out.println("Response times are measured from each request's scheduled start; service times from when it was sent.");
+    }
+
+    /**
+     * Writes a percentile distribution per operation, loadable in the HdrHistogram plotter.
+     */
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<LoadTestOperation, Histogram> entry : responseTimes.entrySet()) {
+            writeDistribution(dir.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm"), entry.getValue());
+        }
+        writeDistribution(dir.resolve("all.hgrm"), overall);
+        writeDistribution(dir.resolve("all-service-time.hgrm"), serviceTime);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errors) {
+        out.printf(Locale.ROOT, ROW, label, histogram.getTotalCount(), errors,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()), String.format(Locale.ROOT, "%.2f", histogram.getMean() / NANOS_PER_MILLI));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
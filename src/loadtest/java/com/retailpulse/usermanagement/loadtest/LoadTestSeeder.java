@@ -0,0 +1,69 @@
+package com.retailpulse.usermanagement.loadtest;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fills the empty load-test database with synthetic users. Runs before the application reports ready,
+ * so the username filter and role index are built from the seeded rows.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    // BCrypt of "password"; hashing every seeded user would take longer than the run itself
+    private static final String PASSWORD_HASH = "$2a$10$Icdy05HD6OXmfVEaX3Kk0OTN3p/DYz95GNluZqvD5HTCGxLAdbP/C";
+    private static final List<Set<Authorities>> ROLES = List.of(
+            Set.of(Authorities.CASHIER), Set.of(Authorities.CASHIER), Set.of(Authorities.CASHIER),
+            Set.of(Authorities.MANAGER), Set.of(Authorities.CASHIER, Authorities.MANAGER), Set.of(Authorities.ADMIN));
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int users;
+
+    public LoadTestSeeder(UserJdbcRepository userJdbcRepository, TransactionTemplate transactionTemplate,
+                          @Value("${loadtest.users:10000}") int users) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.users = users;
+    }
+
+    static String username(long id) {
+        return String.format("loadtest-%07d", id);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        for (int first = 1; first <= users; first += CHUNK_SIZE) {
+            List<User> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int id = first; id < first + CHUNK_SIZE && id <= users; id++) {
+                String username = username(id);
+                chunk.add(new User.Builder(username)
+                        .password(PASSWORD_HASH)
+                        .name("Load Test " + id)
+                        .email(username + "@loadtest.example.com")
+                        .authorities(ROLES.get(id % ROLES.size()))
+                        .enabled(id % 50 != 0)
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> userJdbcRepository.batchInsert(chunk));
+        }
+        logger.info("Seeded " + users + " users in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,107 @@
+package com.retailpulse.usermanagement.config;
+
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many API requests run at once. With virtual threads Tomcat no longer bounds concurrency,
+ * so without this every extra request would park on the JDBC pool until its connection timeout.
+ * Requests that cannot get a permit within the admission timeout are rejected with 503.
+ * <p>
+ * Async requests, such as streamed exports, keep their permit until the async cycle completes, since
+ * they hold a JDBC connection for as long as they stream.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String SERVER_BUSY = "SERVER_BUSY";
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long admissionTimeoutNanos;
+
+    public ConcurrencyLimitInterceptor(int maxConcurrentRequests, Duration admissionTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.admissionTimeoutNanos = admissionTimeout.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws InterruptedException {
+        // Async dispatches come back through preHandle; the original dispatch already holds or released the permit
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        if (!permits.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new ServiceOverloadedException(SERVER_BUSY, "Server is at capacity. Please retry shortly.");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Kept while the handler streams; released when the async cycle ends, even if no dispatch follows it
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    permit.release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            release(request);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    public int inFlight() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    private void release(HttpServletRequest request) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    // Released at most once, whether by afterCompletion of the async dispatch or by the async listener
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
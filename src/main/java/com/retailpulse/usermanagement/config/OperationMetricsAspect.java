@@ -0,0 +1,61 @@
+package com.retailpulse.usermanagement.config;
+
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public {@code UserService} and {@code UserJdbcRepository} call, tagged by method and
+ * outcome. The outcome is {@code SUCCESS}, the {@link BusinessException} error code, or the exception
+ * class for anything unexpected, so a latency spike can be matched to the failures behind it.
+ * <p>
+ * Spring Data repository calls are timed by Spring Boot as {@code spring.data.repository.invocations}
+ * and BCrypt by {@code user.password.hashing}. Histogram buckets are set under
+ * {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+public class OperationMetricsAspect {
+    static final String SERVICE_TIMER = "user.service";
+    static final String JDBC_REPOSITORY_TIMER = "user.repository.jdbc";
+    static final String SUCCESS = "SUCCESS";
+
+    private final MeterRegistry meterRegistry;
+
+    public OperationMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.retailpulse.usermanagement.service.UserService.*(..))")
+    public Object timeUserService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("execution(public * com.retailpulse.usermanagement.repository.UserJdbcRepository.*(..))")
+    public Object timeJdbcRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(JDBC_REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (BusinessException e) {
+            outcome = e.getErrorCode();
+            throw e;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
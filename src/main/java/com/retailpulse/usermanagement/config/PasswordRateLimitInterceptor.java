@@ -0,0 +1,86 @@
+package com.retailpulse.usermanagement.config;
+
+import com.retailpulse.usermanagement.service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Limits password operations per target user and per client before the controller runs, so a rejected
+ * attempt costs a map lookup instead of a hash verification. The per-user limit stops brute force on
+ * one account from many clients; the per-client limit stops one client spraying many accounts.
+ * Clients are told apart by their authenticated name, or by remote address when there is none. The
+ * remote address is the X-Forwarded-For client when {@code server.forward-headers-strategy} is
+ * {@code native}. The ingress must overwrite that header, otherwise all anonymous callers share the
+ * proxy's bucket.
+ */
+public class PasswordRateLimitInterceptor implements HandlerInterceptor {
+    private static final String TOO_MANY_PASSWORD_ATTEMPTS = "TOO_MANY_PASSWORD_ATTEMPTS";
+
+    private final TokenBucketLimiter perUser;
+    private final TokenBucketLimiter perClient;
+    private final Counter userRejections;
+    private final Counter clientRejections;
+
+    public PasswordRateLimitInterceptor(TokenBucketLimiter perUser, TokenBucketLimiter perClient, MeterRegistry meterRegistry) {
+        this.perUser = perUser;
+        this.perClient = perClient;
+        this.userRejections = Counter.builder("user.rate.limit.rejected")
+                .description("Password operations rejected by a rate limit")
+                .tag("limit", "user")
+                .register(meterRegistry);
+        this.clientRejections = Counter.builder("user.rate.limit.rejected")
+                .description("Password operations rejected by a rate limit")
+                .tag("limit", "client")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String clientKey = clientKey(request);
+        String userId = userId(request);
+
+        // Both limits are checked before either is spent, so a request refused by one costs nothing from the other
+        rejectIfWaiting(perClient.waitTime(clientKey), clientRejections, "from this client");
+        if (userId != null) {
+            rejectIfWaiting(perUser.waitTime(userId), userRejections, "for this user");
+        }
+
+        rejectIfWaiting(perClient.tryAcquire(clientKey), clientRejections, "from this client");
+        if (userId != null) {
+            Duration wait = perUser.tryAcquire(userId);
+            if (!wait.isZero()) {
+                // Lost a race for the user's last token since the check
+                perClient.refund(clientKey);
+                rejectIfWaiting(wait, userRejections, "for this user");
+            }
+        }
+        return true;
+    }
+
+    private static void rejectIfWaiting(Duration wait, Counter rejections, String scope) {
+        if (!wait.isZero()) {
+            rejections.increment();
+            throw new RateLimitExceededException(TOO_MANY_PASSWORD_ATTEMPTS,
+                    "Too many password attempts " + scope + ". Please retry later.", wait);
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String userId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> map ? ((Map<String, String>) map).get("id") : null;
+    }
+}
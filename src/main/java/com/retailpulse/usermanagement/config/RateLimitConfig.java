@@ -0,0 +1,78 @@
+package com.retailpulse.usermanagement.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket limits in front of the password endpoints. Buckets live in this instance's memory, so
+ * behind a load balancer each instance grants its own allowance.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.rate-limit.password.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    @Value("${user.rate-limit.password.per-user.capacity:5}")
+    private int perUserCapacity;
+
+    @Value("${user.rate-limit.password.per-user.refill-interval:1m}")
+    private Duration perUserRefillInterval;
+
+    @Value("${user.rate-limit.password.per-client.capacity:20}")
+    private int perClientCapacity;
+
+    @Value("${user.rate-limit.password.per-client.refill-interval:3s}")
+    private Duration perClientRefillInterval;
+
+    @Value("${user.rate-limit.password.max-keys:100000}")
+    private int maxKeys;
+
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TokenBucketLimiter passwordPerUserLimiter() {
+        return trackedLimiter(new TokenBucketLimiter(perUserCapacity, perUserRefillInterval, maxKeys), "user");
+    }
+
+    @Bean
+    public TokenBucketLimiter passwordPerClientLimiter() {
+        return trackedLimiter(new TokenBucketLimiter(perClientCapacity, perClientRefillInterval, maxKeys), "client");
+    }
+
+    @Bean
+    public PasswordRateLimitInterceptor passwordRateLimitInterceptor() {
+        return new PasswordRateLimitInterceptor(passwordPerUserLimiter(), passwordPerClientLimiter(), meterRegistry);
+    }
+
+    // Idle keys are also dropped when a stripe fills up; this keeps memory down between bursts
+    @Scheduled(fixedDelayString = "${user.rate-limit.password.eviction-interval:1m}")
+    public void evictIdleKeys() {
+        passwordPerUserLimiter().evictIdle();
+        passwordPerClientLimiter().evictIdle();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(passwordRateLimitInterceptor()).addPathPatterns("/api/users/*/change-password");
+    }
+
+    private TokenBucketLimiter trackedLimiter(TokenBucketLimiter limiter, String limit) {
+        Gauge.builder("user.rate.limit.keys", limiter, TokenBucketLimiter::size)
+                .description("Callers currently tracked by a password rate limit")
+                .tag("limit", limit)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
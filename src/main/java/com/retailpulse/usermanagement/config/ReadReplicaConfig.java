@@ -0,0 +1,83 @@
+package com.retailpulse.usermanagement.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus one pool per read replica when
+ * {@code user.datasource.read-replicas.enabled=true}. Read-only transactions are routed to the
+ * replicas by {@link ReplicaRoutingDataSource}; every pool reports {@code hikaricp.*} metrics tagged
+ * with its pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.datasource.read-replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties dataSourceProperties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(dataSourceProperties.determineUrl());
+        config.setUsername(dataSourceProperties.determineUsername());
+        config.setPassword(dataSourceProperties.determinePassword());
+        config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        return config;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariConfig primaryPoolConfig,
+                                                             ReadReplicaProperties replicaProperties,
+                                                             ReadYourWritesWindow readYourWritesWindow,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool(primaryPoolConfig, ReplicaRoutingDataSource.PRIMARY, meterRegistry);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.replicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = replicaProperties.replicas().get(i);
+            HikariConfig config = new HikariConfig();
+            primaryPoolConfig.copyStateTo(config);
+            config.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                config.setUsername(replica.username());
+                config.setPassword(replica.password());
+            }
+            config.setReadOnly(true);
+            replicas.add(pool(config, "replica-" + i, meterRegistry));
+        }
+
+        logger.info("Routing read-only transactions to " + replicas.size() + " read replicas, read-your-writes window "
+                + readYourWritesWindow.getWindow());
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(HikariConfig config, String poolName, ObjectProvider<MeterRegistry> meterRegistry) {
+        config.setPoolName(poolName);
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,21 @@
+package com.retailpulse.usermanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Read replicas under {@code user.datasource}. Replica pools copy the primary's
+ * {@code spring.datasource.hikari} settings and only override the connection details. The
+ * read-your-writes window is read by {@link ReadYourWritesWindow}.
+ */
+@ConfigurationProperties(prefix = "user.datasource")
+public record ReadReplicaProperties(List<Replica> replicas) {
+
+    public ReadReplicaProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+    }
+
+    public record Replica(String url, String username, String password) {
+    }
+}
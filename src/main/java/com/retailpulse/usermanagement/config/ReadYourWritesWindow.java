@@ -0,0 +1,56 @@
+package com.retailpulse.usermanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Tracks when this instance last committed a user write, so {@link ReplicaRoutingDataSource} can keep
+ * read-only transactions on the primary for {@code user.datasource.read-your-writes-window}
+ * afterwards. Only the user write paths call {@link #markWrite()}; transactions that read, poll the
+ * outbox or bump counters leave replica routing alone.
+ * <p>
+ * The window belongs to the instance, not to a client: one client's write sends every client's reads
+ * on this instance to the primary until it closes.
+ */
+@Component
+public class ReadYourWritesWindow {
+    private final Duration window;
+    private final long windowNanos;
+
+    private volatile long lastWriteNanos;
+
+    public ReadYourWritesWindow(@Value("${user.datasource.read-your-writes-window:2s}") Duration window) {
+        this.window = window;
+        this.windowNanos = window.toNanos();
+        this.lastWriteNanos = System.nanoTime() - windowNanos;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Called in the transaction that writes users; the window opens when it commits, and not at all
+     * when it rolls back.
+     */
+    public void markWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWriteNanos = System.nanoTime();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteNanos = System.nanoTime();
+            }
+        });
+    }
+
+    public boolean isOpen() {
+        return System.nanoTime() - lastWriteNanos < windowNanos;
+    }
+}
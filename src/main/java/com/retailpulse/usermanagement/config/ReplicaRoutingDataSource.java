@@ -0,0 +1,65 @@
+package com.retailpulse.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary.
+ * <p>
+ * The key is chosen when a connection is first needed, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * transaction manager fetches the connection before the read-only flag is bound to the thread.
+ * <p>
+ * While the {@link ReadYourWritesWindow} is open after a user write commits, read-only transactions
+ * also go to the primary so reads do not miss that write through replica lag. The window covers the
+ * whole instance: one client's write sends every client's reads on this instance to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, ReadYourWritesWindow readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesWindow = readYourWritesWindow;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource replica : this.replicas) {
+            targets.put(replica.getPoolName(), replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || readYourWritesWindow.isOpen()) {
+            return PRIMARY;
+        }
+        return replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size())).getPoolName();
+    }
+
+    @Override
+    public void close() {
+        for (HikariDataSource replica : replicas) {
+            replica.close();
+        }
+        primary.close();
+    }
+}
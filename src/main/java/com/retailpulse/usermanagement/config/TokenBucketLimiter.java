@@ -0,0 +1,136 @@
+package com.retailpulse.usermanagement.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets keyed by caller, each holding up to {@code capacity} tokens and regaining one
+ * every {@code refillInterval}.
+ *
+ * <p>A bucket is kept as a single {@code long}: the time at which it will be full again (the generic cell
+ * rate algorithm, which admits exactly what a token bucket does). Taking a token is one CAS on that value,
+ * so callers never lock. A bucket whose refill time has passed is full, which is the same as having no
+ * entry, so idle keys can be dropped at any moment without changing any decision.
+ *
+ * <p>Keys are spread over fixed stripes, each capped at its share of {@code maxKeys}. A stripe that fills
+ * up first evicts its idle keys; if every key in it is still active, new keys are refused until some go
+ * idle. Refusing rather than admitting untracked keys means flooding the table cannot switch the limit off.
+ */
+public final class TokenBucketLimiter {
+    private static final int STRIPES = 64;
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Map<String, AtomicLong>[] stripes = new Map[STRIPES];
+
+    public TokenBucketLimiter(int capacity, Duration refillInterval, int maxKeys) {
+        this(capacity, refillInterval, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillInterval, int maxKeys, LongSupplier clock) {
+        this.refillIntervalNanos = refillInterval.toNanos();
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns zero when it was granted, otherwise how long until one
+     * will be; nothing is taken from a rejected call.
+     */
+    public Duration tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong fullAt = bucket(key, now);
+        if (fullAt == null) {
+            return Duration.ofNanos(refillIntervalNanos);
+        }
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * How long until {@code key} would be granted a token, without taking one. A key that is not
+     * tracked yet reports zero, even if its stripe is full and {@link #tryAcquire} would refuse it.
+     */
+    public Duration waitTime(String key) {
+        long now = clock.getAsLong();
+        AtomicLong fullAt = stripes[stripeOf(key)].get(key);
+        if (fullAt == null) {
+            return Duration.ZERO;
+        }
+        long wait = Math.max(fullAt.get(), now) + refillIntervalNanos - now - burstNanos;
+        return wait > 0 ? Duration.ofNanos(wait) : Duration.ZERO;
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for work that was then turned away. A full
+     * bucket stays full, because any refill time already passed reads as full.
+     */
+    public void refund(String key) {
+        AtomicLong fullAt = stripes[stripeOf(key)].get(key);
+        if (fullAt != null) {
+            fullAt.addAndGet(-refillIntervalNanos);
+        }
+    }
+
+    /**
+     * Drops every key whose bucket has refilled. A token taken concurrently from a key being dropped
+     * may go uncounted, which only ever errs by one request in the caller's favour.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        for (Map<String, AtomicLong> stripe : stripes) {
+            evictIdle(stripe, now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        Map<String, AtomicLong> stripe = stripes[stripeOf(key)];
+        AtomicLong fullAt = stripe.get(key);
+        if (fullAt != null) {
+            return fullAt;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            evictIdle(stripe, now);
+            if (stripe.size() >= maxKeysPerStripe) {
+                return null;
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private static void evictIdle(Map<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    private static int stripeOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
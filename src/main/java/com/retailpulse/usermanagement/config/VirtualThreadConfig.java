@@ -0,0 +1,69 @@
+package com.retailpulse.usermanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Guards that apply when {@code spring.threads.virtual.enabled=true} (see the {@code virtual-threads}
+ * profile). Tomcat then runs every request on its own virtual thread, so concurrency is bounded here
+ * in front of the JDBC pool instead of by the worker pool size.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Requests admitted per pooled connection when no explicit limit is configured
+    private static final int REQUESTS_PER_CONNECTION = 4;
+
+    @Value("${user.virtual-threads.max-concurrent-requests:0}")
+    private int maxConcurrentRequests;
+
+    @Value("${user.virtual-threads.admission-timeout:500ms}")
+    private Duration admissionTimeout;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int jdbcPoolSize;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long jdbcConnectionTimeoutMillis;
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : jdbcPoolSize * REQUESTS_PER_CONNECTION;
+        if (limit < jdbcPoolSize) {
+            logger.warn("user.virtual-threads.max-concurrent-requests (" + limit + ") is below the JDBC pool size ("
+                    + jdbcPoolSize + "); some connections will never be used");
+        }
+        if (jdbcConnectionTimeoutMillis > Duration.ofSeconds(5).toMillis()) {
+            logger.warn("spring.datasource.hikari.connection-timeout is " + jdbcConnectionTimeoutMillis
+                    + " ms; with virtual threads a short timeout keeps pool waits from piling up");
+        }
+        logger.info("Virtual threads enabled: admitting " + limit + " concurrent API requests for a JDBC pool of " + jdbcPoolSize);
+        return new ConcurrencyLimitInterceptor(limit, admissionTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "user.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${user.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor()).addPathPatterns("/api/**");
+    }
+}
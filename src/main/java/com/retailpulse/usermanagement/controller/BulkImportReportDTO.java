@@ -0,0 +1,6 @@
+package com.retailpulse.usermanagement.controller;
+
+import java.util.List;
+
+public record BulkImportReportDTO(int total, int created, int failed, List<BulkImportResultDTO> results) {
+}
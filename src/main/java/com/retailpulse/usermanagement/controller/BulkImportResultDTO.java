@@ -0,0 +1,4 @@
+package com.retailpulse.usermanagement.controller;
+
+public record BulkImportResultDTO(int row, String username, String status, Long id, String errorCode, String message) {
+}
@@ -0,0 +1,59 @@
+package com.retailpulse.usermanagement.controller;
+
+import com.retailpulse.usermanagement.service.exception.PreconditionFailedException;
+
+/**
+ * Strong entity tags built from version numbers. A single user is tagged {@code "<version>"} and
+ * the list endpoints {@code "c<collection version>"}, so a user's tag can never match a list's.
+ */
+final class ETags {
+    private static final String INVALID_ETAG = "INVALID_ETAG";
+    private static final String COLLECTION_PREFIX = "c";
+
+    private ETags() {
+    }
+
+    static String ofUser(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofCollection(long version) {
+        return "\"" + COLLECTION_PREFIX + version + "\"";
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match}: a {@code W/} prefix is ignored.
+     */
+    static boolean noneMatchHits(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the version a conditional write expects from {@code If-Match}. Returns null when there is
+     * no precondition. Weak and malformed tags cannot satisfy the strong comparison {@code If-Match}
+     * requires, so they fail the request.
+     */
+    static Long expectedUserVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException(INVALID_ETAG, "If-Match must be a single strong ETag of this user.");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(INVALID_ETAG, "If-Match must be a single strong ETag of this user.");
+        }
+    }
+}
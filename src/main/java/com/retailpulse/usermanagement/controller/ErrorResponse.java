@@ -1,16 +1,27 @@
 package com.retailpulse.usermanagement.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ErrorResponse {
     private String code;
     private String message;
+    // Set only for validation failures, one entry per invalid field
+    private List<FieldErrorDTO> errors;
 
     public ErrorResponse(String code, String message) {
         this.code = code;
         this.message = message;
     }
 
+    public ErrorResponse(String code, String message, List<FieldErrorDTO> errors) {
+        this(code, message);
+        this.errors = errors;
+    }
+
 }
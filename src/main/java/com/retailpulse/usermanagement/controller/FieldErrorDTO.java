@@ -0,0 +1,4 @@
+package com.retailpulse.usermanagement.controller;
+
+public record FieldErrorDTO(String field, String message) {
+}
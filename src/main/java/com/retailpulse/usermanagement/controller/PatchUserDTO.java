@@ -0,0 +1,7 @@
+package com.retailpulse.usermanagement.controller;
+
+import java.util.List;
+
+// Partial update: a null field leaves the stored value unchanged
+public record PatchUserDTO(String name, String email, List<String> roles, Boolean isEnabled) {
+}
@@ -1,55 +1,178 @@
 package com.retailpulse.usermanagement.controller;
 
+import com.retailpulse.usermanagement.service.UserExportService;
+import com.retailpulse.usermanagement.service.UserImportService;
+import com.retailpulse.usermanagement.service.UserLookupService;
 import com.retailpulse.usermanagement.service.UserService;
+import com.retailpulse.usermanagement.service.Versioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final UserLookupService userLookupService;
 
-    public UserController(UserService userService) {
+    @Value("${user.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${user.pagination.max-size:500}")
+    private int maxPageSize;
+
+    // When enabled, requests without paging parameters get the old unbounded list so existing clients keep working
+    @Value("${user.pagination.legacy-mode:false}")
+    private boolean legacyMode;
+
+    // Caps how deep search results can be paged, since every page re-ranks the rows before it
+    @Value("${user.search.max-results:1000}")
+    private int maxSearchResults;
+
+    public UserController(UserService userService, UserImportService userImportService, UserExportService userExportService,
+                          UserLookupService userLookupService) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.userExportService = userExportService;
+        this.userLookupService = userLookupService;
     }
 
     @GetMapping
-    public List<ViewUserDTO> getAllUsers() {
-        logger.info("Fetching all users");
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String role,
+                                         @RequestParam(required = false) Boolean enabled,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean filtered = role != null || enabled != null;
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        if (filtered) {
+            // Not tagged: the role index of each instance may lag other instances' writes until its next rebuild
+            String safeRole = role == null ? null : role.replaceAll("[\n\r]", "_");
+            logger.info("Fetching users with role: " + safeRole + ", enabled: " + enabled + " after id: " + after + " with page size: " + pageSize);
+            return ResponseEntity.ok(userService.getUsersByRole(safeRole, enabled, after, pageSize));
+        }
+
+        // The client's copy is current if its tag matches the latest version, wherever that is read from
+        if (ifNoneMatch != null) {
+            String etag = ETags.ofCollection(userService.getCollectionVersion());
+            if (ETags.noneMatchHits(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        // Otherwise the tag comes from the transaction that read the content it labels
+        Versioned<?> users;
+        if (legacyMode && after == null && size == null) {
+            logger.info("Fetching all users (legacy mode)");
+            users = userService.getAllUsersWithVersion();
+        } else {
+            logger.info("Fetching users after id: " + after + " with page size: " + pageSize);
+            users = userService.getUsersWithVersion(after, pageSize);
+        }
+        return ResponseEntity.ok().eTag(ETags.ofCollection(users.version())).body(users.content());
     }
 
     @GetMapping("/id/{id}")
-    public ResponseEntity<ViewUserDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<ViewUserDTO> getUserById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.info("Fetching user with id: " + id);
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<ViewUserDTO>> notModified = notModified(userService.getUserVersionById(id), ifNoneMatch);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
         return userService.getUserById(id)
-                .map(ResponseEntity::ok)
+                .map(UserController::taggedOk)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/username/{username}")
-    public ResponseEntity<ViewUserDTO> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<ViewUserDTO> getUserByUsername(@PathVariable String username,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String safeUsername = username.replaceAll("[\n\r]", "_");
         logger.info("Fetching user with username: " + safeUsername);
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<ViewUserDTO>> notModified = notModified(userService.getUserVersionByUsername(safeUsername), ifNoneMatch);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
         return userService.getUserByUsername(safeUsername)
-                .map(ResponseEntity::ok)
+                .map(UserController::taggedOk)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<UsernameAvailabilityDTO> checkUsernameAvailability(@RequestParam String username) {
+        boolean available = userService.isUsernameAvailable(username);
+        return ResponseEntity.ok(new UsernameAvailabilityDTO(username, available));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<UserLookupResultDTO> lookupUsers(@RequestBody UserLookupDTO lookupDTO) {
+        int ids = lookupDTO.ids() == null ? 0 : lookupDTO.ids().size();
+        int usernames = lookupDTO.usernames() == null ? 0 : lookupDTO.usernames().size();
+        logger.info("Looking up " + ids + " ids and " + usernames + " usernames");
+        return ResponseEntity.ok(userLookupService.lookupUsers(lookupDTO));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<ViewUserDTO> getUserByName(@RequestParam String name) {
-        String safeName = name.replaceAll("[\n\r]", "_");
-        logger.info("Fetching user with name: " + safeName);
-        return userService.getUserByName(safeName)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<UserSearchResultDTO> searchUsers(@RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) String name,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(required = false) Integer size) {
+        // `name` is the parameter older clients send
+        String query = q != null ? q : name;
+        if (query == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String safeQuery = query.replaceAll("[\n\r]", "_");
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = Math.max(0, page);
+        if ((long) (pageNumber + 1) * pageSize > maxSearchResults) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        logger.info("Searching users for: " + safeQuery + ", page: " + pageNumber);
+        return ResponseEntity.ok(userService.searchUsers(safeQuery, pageNumber, pageSize));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        logger.info("Exporting all users" + (gzip ? " (gzip)" : ""));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(outputStream -> userExportService.exportUsers(outputStream, gzip));
     }
 
     @PostMapping
@@ -60,12 +183,36 @@ public class UserController {
         return ResponseEntity.created(URI.create("/api/users/" + viewUserDTO.id())).body(viewUserDTO);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportReportDTO> importUsers(@RequestBody List<CreateUserDTO> createUserDTOs) {
+        logger.info("Received request to import " + createUserDTOs.size() + " users");
+        return ResponseEntity.ok(userImportService.importUsers(createUserDTOs));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkImportReportDTO> importUsersCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        logger.info("Received CSV import of " + file.getSize() + " bytes");
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(userImportService.importUsers(UserCsvParser.parse(reader)));
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<ViewUserDTO> updateUser(@PathVariable Long id, @RequestBody UpdateUserDTO updateUserDTO) {
+    public ResponseEntity<ViewUserDTO> updateUser(@PathVariable Long id, @RequestBody UpdateUserDTO updateUserDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Received request to update user with id: " + id);
-        ViewUserDTO viewUserDTO = userService.updateUser(id, updateUserDTO);
+        ViewUserDTO viewUserDTO = userService.updateUser(id, updateUserDTO, ETags.expectedUserVersion(ifMatch));
+
+        return taggedOk(viewUserDTO);
+    }
 
-        return ResponseEntity.ok(viewUserDTO);
+    @PatchMapping("/{id}")
+    public ResponseEntity<ViewUserDTO> patchUser(@PathVariable Long id, @RequestBody PatchUserDTO patchUserDTO,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("Received request to patch user with id: " + id);
+        ViewUserDTO viewUserDTO = userService.patchUser(id, patchUserDTO, ETags.expectedUserVersion(ifMatch));
+
+        return taggedOk(viewUserDTO);
     }
 
     @DeleteMapping("/{id}")
@@ -76,6 +223,51 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    private static ResponseEntity<ViewUserDTO> taggedOk(ViewUserDTO user) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (user.version() != null) {
+            response.eTag(ETags.ofUser(user.version()));
+        }
+        return response.body(user);
+    }
+
+    // gzip;q=0 refuses gzip, and a bare * accepts it unless gzip is listed on its own
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    // Answers a conditional GET from the version alone, before the user is loaded or mapped
+    private static Optional<ResponseEntity<ViewUserDTO>> notModified(Optional<Long> version, String ifNoneMatch) {
+        return version.map(ETags::ofUser)
+                .filter(etag -> ETags.noneMatchHits(ifNoneMatch, etag))
+                .map(etag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<ViewUserDTO>build());
+    }
+
     @PatchMapping("/{id}/change-password")
     public ResponseEntity<String> changePassword(
             @PathVariable Long id,
@@ -0,0 +1,97 @@
+package com.retailpulse.usermanagement.controller;
+
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a bulk import CSV into {@link CreateUserDTO} rows.
+ * <p>
+ * Expected header: {@code username,password,email,name,roles}. Several roles go in one field
+ * separated by {@code |}. Fields may be double-quoted, with {@code ""} as an escaped quote.
+ */
+public final class UserCsvParser {
+    private static final String INVALID_FORMAT = "INVALID_FORMAT";
+    private static final List<String> HEADER = List.of("username", "password", "email", "name", "roles");
+
+    private UserCsvParser() {
+    }
+
+    public static List<CreateUserDTO> parse(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null || !HEADER.equals(splitLine(stripBom(header), 0).stream().map(String::trim).toList())) {
+            throw new BusinessException(INVALID_FORMAT, "CSV header must be " + String.join(",", HEADER) + ". Failed to import users.");
+        }
+
+        List<CreateUserDTO> users = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            List<String> fields = splitLine(line, lineNumber);
+            if (fields.size() != HEADER.size()) {
+                throw new BusinessException(INVALID_FORMAT, "Expected " + HEADER.size() + " fields on line " + lineNumber + ". Failed to import users.");
+            }
+
+            String roles = fields.get(4).trim();
+            users.add(new CreateUserDTO(
+                    fields.get(0).trim(),
+                    fields.get(1),
+                    emptyToNull(fields.get(2).trim()),
+                    emptyToNull(fields.get(3).trim()),
+                    roles.isEmpty() ? List.of() : Arrays.stream(roles.split("\\|")).map(String::trim).toList()));
+        }
+        return users;
+    }
+
+    private static List<String> splitLine(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new BusinessException(INVALID_FORMAT, "Unterminated quote on line " + lineNumber + ". Failed to import users.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("\uFEFF") ? header.substring(1) : header;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
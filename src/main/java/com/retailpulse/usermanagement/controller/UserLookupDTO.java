@@ -0,0 +1,6 @@
+package com.retailpulse.usermanagement.controller;
+
+import java.util.List;
+
+public record UserLookupDTO(List<Long> ids, List<String> usernames) {
+}
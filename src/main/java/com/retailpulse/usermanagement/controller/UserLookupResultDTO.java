@@ -0,0 +1,7 @@
+package com.retailpulse.usermanagement.controller;
+
+import java.util.Map;
+
+// Keyed by the identifiers as requested; identifiers that match no user are left out
+public record UserLookupResultDTO(Map<Long, ViewUserDTO> ids, Map<String, ViewUserDTO> usernames) {
+}
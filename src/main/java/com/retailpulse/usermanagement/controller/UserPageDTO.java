@@ -0,0 +1,6 @@
+package com.retailpulse.usermanagement.controller;
+
+import java.util.List;
+
+public record UserPageDTO(List<ViewUserDTO> users, Long next) {
+}
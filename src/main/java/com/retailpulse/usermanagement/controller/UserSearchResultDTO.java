@@ -0,0 +1,6 @@
+package com.retailpulse.usermanagement.controller;
+
+import java.util.List;
+
+public record UserSearchResultDTO(List<ViewUserDTO> users, int page, int size, boolean hasMore) {
+}
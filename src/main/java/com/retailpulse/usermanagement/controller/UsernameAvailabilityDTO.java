@@ -0,0 +1,4 @@
+package com.retailpulse.usermanagement.controller;
+
+public record UsernameAvailabilityDTO(String username, boolean available) {
+}
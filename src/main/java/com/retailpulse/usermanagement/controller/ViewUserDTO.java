@@ -2,5 +2,9 @@ package com.retailpulse.usermanagement.controller;
 
 import java.util.List;
 
-public record ViewUserDTO(Long id, String username, String email, String name, List<String> roles, Boolean enabled) {
+public record ViewUserDTO(Long id, String username, String email, String name, List<String> roles, Boolean enabled, Long version) {
+
+    public ViewUserDTO(Long id, String username, String email, String name, List<String> roles, Boolean enabled) {
+        this(id, username, email, name, roles, enabled, null);
+    }
 }
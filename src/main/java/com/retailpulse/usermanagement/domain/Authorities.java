@@ -1,20 +1,40 @@
 package com.retailpulse.usermanagement.domain;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 public enum Authorities {
-    ADMIN("ADMIN"),
-    CASHIER("CASHIER"),
-    MANAGER("MANAGER");
+    // Bits are persisted in users.roles; never reuse or renumber one
+    ADMIN("ADMIN", 1),
+    CASHIER("CASHIER", 1 << 1),
+    MANAGER("MANAGER", 1 << 2);
+
+    private static final Authorities[] VALUES = values();
+    private static final int ALL = allBits();
+
+    // Every possible role combination is built once, so decoding a mask never allocates
+    private static final Set<Authorities>[] SETS_BY_MASK = setsByMask();
+    private static final List<String>[] NAMES_BY_MASK = namesByMask();
 
     private final String authority;
+    private final int bit;
 
-    Authorities(String authority) {
+    Authorities(String authority, int bit) {
         this.authority = authority;
+        this.bit = bit;
     }
 
     public String getAuthority() {
         return authority;
     }
 
+    public int getBit() {
+        return bit;
+    }
+
     public static Authorities fromString(String authority) {
         for (Authorities a : Authorities.values()) {
             if (a.authority.equalsIgnoreCase(authority)) {
@@ -24,4 +44,80 @@ public enum Authorities {
         throw new IllegalArgumentException("No authority with name " + authority + " found");
     }
 
+    /**
+     * Whether {@code name} is the exact name of an authority, as {@link #valueOf(String)} expects, without
+     * throwing for unknown ones.
+     */
+    public static boolean isKnown(String name) {
+        for (Authorities authority : VALUES) {
+            if (authority.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int toMask(Set<Authorities> authorities) {
+        int mask = 0;
+        if (authorities != null) {
+            for (Authorities authority : VALUES) {
+                if (authorities.contains(authority)) {
+                    mask |= authority.bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the shared unmodifiable set for {@code mask}. Unknown bits are ignored.
+     */
+    public static Set<Authorities> fromMask(int mask) {
+        return SETS_BY_MASK[mask & ALL];
+    }
+
+    /**
+     * Returns the shared unmodifiable list of authority names for {@code mask}, in declaration order.
+     */
+    public static List<String> namesOf(int mask) {
+        return NAMES_BY_MASK[mask & ALL];
+    }
+
+    private static int allBits() {
+        int all = 0;
+        for (Authorities authority : VALUES) {
+            all |= authority.bit;
+        }
+        return all;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<Authorities>[] setsByMask() {
+        Set<Authorities>[] sets = new Set[ALL + 1];
+        for (int mask = 0; mask <= ALL; mask++) {
+            EnumSet<Authorities> set = EnumSet.noneOf(Authorities.class);
+            for (Authorities authority : VALUES) {
+                if ((mask & authority.bit) != 0) {
+                    set.add(authority);
+                }
+            }
+            sets[mask] = Collections.unmodifiableSet(set);
+        }
+        return sets;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<String>[] namesByMask() {
+        List<String>[] names = new List[ALL + 1];
+        for (int mask = 0; mask <= ALL; mask++) {
+            List<String> list = new ArrayList<>();
+            for (Authorities authority : VALUES) {
+                if ((mask & authority.bit) != 0) {
+                    list.add(authority.authority);
+                }
+            }
+            names[mask] = List.copyOf(list);
+        }
+        return names;
+    }
 }
@@ -5,7 +5,6 @@ import org.apache.commons.validator.routines.EmailValidator;
 
 import lombok.Getter;
 
-import java.util.Collections;
 import java.util.Set;
 
 @Getter
@@ -18,19 +17,21 @@ public class User {
     private String email;
     private Set<Authorities> authorities;
     private Boolean enabled;
+    private Long version;
 
     private User(Builder builder) {
         this.username = builder.username;
         this.id = builder.id;
+        this.version = builder.version;
         this.password = builder.password;
         this.name = builder.name;
 
-        if (builder.email != null) {
+        if (builder.email != null && !builder.trusted) {
             validateEmailPattern(builder.email);
         }
         this.email = builder.email;
 
-        this.authorities = builder.authorities == null ? Collections.emptySet() : Collections.unmodifiableSet(builder.authorities);
+        this.authorities = canonicalRoles(builder.authorities);
         this.enabled = builder.enabled == null ? true : builder.enabled;
     }
 
@@ -39,7 +40,7 @@ public class User {
     }
 
     public void updateRoles(Set<Authorities> newAuthorities) {
-        this.authorities = newAuthorities == null ? Collections.emptySet() : Collections.unmodifiableSet(newAuthorities);
+        this.authorities = canonicalRoles(newAuthorities);
     }
 
     public void updateName(String newName) {
@@ -53,6 +54,14 @@ public class User {
         this.email = newEmail;
     }
 
+    /**
+     * Sets an email that already passed {@code UserValidator}, without checking its format again,
+     * as {@link Builder#trusted()} does for new users.
+     */
+    public void updateTrustedEmail(String newEmail) {
+        this.email = newEmail;
+    }
+
     public void updateEnabled(Boolean enabled) {
         this.enabled = enabled == null || enabled;
     }
@@ -65,6 +74,8 @@ public class User {
         private String email;
         private Set<Authorities> authorities;
         private Boolean enabled;
+        private Long version;
+        private boolean trusted;
 
         public Builder(String username) {
             this.username = username;
@@ -100,12 +111,31 @@ public class User {
             return this;
         }
 
+        public Builder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Skips the format checks for data that was already validated, such as rows loaded from the
+         * database or DTOs that passed {@code UserValidator}.
+         */
+        public Builder trusted() {
+            this.trusted = true;
+            return this;
+        }
+
         public User build() {
             return new User(this);
         }
 
     }
 
+    // Swaps any caller-supplied set for the shared EnumSet with the same roles
+    private static Set<Authorities> canonicalRoles(Set<Authorities> authorities) {
+        return Authorities.fromMask(Authorities.toMask(authorities));
+    }
+
     private void validateEmailPattern(String email) {
         if (!EmailValidator.getInstance().isValid(email)) {
             throw new MalformedEmailException("Invalid email format: " + email);
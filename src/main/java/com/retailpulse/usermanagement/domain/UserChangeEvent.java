@@ -0,0 +1,12 @@
+package com.retailpulse.usermanagement.domain;
+
+import java.time.Instant;
+
+/**
+ * A committed change to one user, read from the outbox. {@code id} is unique but is assigned at insert
+ * time, not commit time: a transaction can commit a lower id after a higher one was already published,
+ * so events are not guaranteed to arrive in id order. Delivery is at least once, and consumers should
+ * de-duplicate by {@code id} rather than drop every id below the highest one seen.
+ */
+public record UserChangeEvent(long id, UserChangeType type, long userId, String username, Instant occurredAt) {
+}
@@ -0,0 +1,8 @@
+package com.retailpulse.usermanagement.domain;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    PASSWORD_CHANGED
+}
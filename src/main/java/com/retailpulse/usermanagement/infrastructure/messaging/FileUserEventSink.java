@@ -0,0 +1,47 @@
+package com.retailpulse.usermanagement.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.service.UserEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a local file as newline-delimited JSON, for local runs where another process
+ * tails the file. Each batch is written and forced to disk before it counts as published.
+ */
+@Component
+@ConditionalOnProperty(name = "user.outbox.sink", havingValue = "file")
+public class FileUserEventSink implements UserEventSink {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileUserEventSink(ObjectMapper objectMapper,
+                             @Value("${user.outbox.file.path:user-events.ndjson}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void publish(List<UserChangeEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.DSYNC)) {
+            for (UserChangeEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write user change events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.retailpulse.usermanagement.infrastructure.messaging;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.service.UserEventSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps published events in memory, for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "user.outbox.sink", havingValue = "memory")
+public class InMemoryUserEventSink implements UserEventSink {
+    private final List<UserChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<UserChangeEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public List<UserChangeEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package com.retailpulse.usermanagement.infrastructure.messaging;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.service.UserEventSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sink until a broker is wired in: makes the event stream visible in the logs
+@Component
+@ConditionalOnProperty(name = "user.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingUserEventSink implements UserEventSink {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingUserEventSink.class);
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        for (UserChangeEvent event : events) {
+            logger.info("User change event " + event.id() + ": " + event.type() + " user " + event.userId());
+        }
+    }
+}
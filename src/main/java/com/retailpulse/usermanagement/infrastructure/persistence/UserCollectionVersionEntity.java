@@ -0,0 +1,30 @@
+package com.retailpulse.usermanagement.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+/**
+ * Single-row counter bumped after every user write commits, so the list endpoints can answer
+ * conditional requests with one primary-key read.
+ */
+@Entity
+@Table(name = "user_collection_version")
+@Getter
+public class UserCollectionVersionEntity {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+
+    // required by JPA
+    protected UserCollectionVersionEntity() {
+    }
+
+    public UserCollectionVersionEntity(long version) {
+        this.id = ID;
+        this.version = version;
+    }
+}
@@ -3,19 +3,27 @@ package com.retailpulse.usermanagement.infrastructure.persistence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
+// Cached in the "users" second-level cache region; username lookups resolve through "users-by-username"
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
 @Getter
 public class UserEntity {
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true)
     private String username;
 
@@ -31,8 +39,16 @@ public class UserEntity {
     @Setter
     private boolean enabled;
 
-    @OneToMany(mappedBy = "userEntity", cascade = CascadeType.ALL, orphanRemoval = true)
-    private final List<AuthoritiesEntity> authorities = new ArrayList<>();
+    // Bitmask of Authorities bits. The authorities table is kept as a projection of this column
+    // for the IAM server (see UserJdbcRepository.updateAuthorities)
+    @Setter
+    @Column(nullable = false)
+    private int roles;
+
+    // Bumped by Hibernate on every update; exposed as the user's ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
 
     // required by JPA
     protected UserEntity() {
@@ -46,25 +62,4 @@ public class UserEntity {
         this.enabled = enabled == null ? true : enabled;
     }
 
-    // ✅ Enforces Aggregation: Authorities can only be added via the Aggregate Root
-    private void addRole(String role) {
-        // Check if the role already exists in the authorities collection
-        boolean roleExists = this.authorities.stream()
-                .anyMatch(auth -> auth.getAuthority().equals(role));
-
-        // If the role doesn't exist, add it
-        if (!roleExists) {
-            this.authorities.add(new AuthoritiesEntity(this, role));
-        }
-    }
-
-    public void addRoles(List<String> roles) {
-        roles.forEach(this::addRole);
-    }
-
-    // ✅ Prevent direct modifications to `authorities`
-    public List<AuthoritiesEntity> getAuthorities() {
-        return Collections.unmodifiableList(authorities);
-    }
-
 }
@@ -0,0 +1,18 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.infrastructure.persistence.UserCollectionVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface UserCollectionVersionRepository extends JpaRepository<UserCollectionVersionEntity, Integer> {
+
+    @Query("SELECT v.version FROM UserCollectionVersionEntity v WHERE v.id = " + UserCollectionVersionEntity.ID)
+    Optional<Long> findCurrentVersion();
+
+    @Modifying
+    @Query("UPDATE UserCollectionVersionEntity v SET v.version = v.version + 1 WHERE v.id = " + UserCollectionVersionEntity.ID)
+    int increment();
+}
@@ -0,0 +1,175 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access for the set-based paths that JPA handles poorly, such as bulk inserts.
+ * <p>
+ * {@code users.id} is an IDENTITY column, which stops Hibernate from batching inserts because it
+ * has to read back every generated key. Authorities reference users by username, so these
+ * statements can be sent as JDBC batches and ids looked up afterwards in one query.
+ * <p>
+ * Roles live in the {@code users.roles} bitmask. The {@code authorities} table is a write-only
+ * projection of it for the IAM server and is maintained here.
+ */
+@Repository
+public class UserJdbcRepository {
+    // Keeps IN lists well under driver and optimizer limits
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, name, email, enabled, roles, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_AUTHORITY =
+            "INSERT INTO authorities (username, authority) VALUES (?, ?)";
+    private static final String DELETE_AUTHORITIES =
+            "DELETE FROM authorities WHERE username = :username AND authority IN (:authorities)";
+    private static final String SELECT_IDS_BY_USERNAME =
+            "SELECT id, username FROM users WHERE username IN (:usernames)";
+
+    private static final String SELECT_USERS_WITH_ROLES =
+            "SELECT id, username, name, email, enabled, roles, version FROM users ORDER BY id";
+    private static final String SELECT_ROLES =
+            "SELECT id, roles, enabled FROM users";
+    private static final String SELECT_USERNAMES =
+            "SELECT username FROM users";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int exportFetchSize;
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result
+    public UserJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                              @Value("${user.export.fetch-size:-2147483648}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    public void batchInsert(List<User> users) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getPassword());
+            ps.setString(3, user.getName());
+            ps.setString(4, user.getEmail());
+            ps.setBoolean(5, user.getEnabled());
+            ps.setInt(6, Authorities.toMask(user.getAuthorities()));
+        });
+
+        List<Object[]> authorities = new ArrayList<>();
+        for (User user : users) {
+            for (Authorities authority : user.getAuthorities()) {
+                authorities.add(new Object[]{user.getUsername(), authority.getAuthority()});
+            }
+        }
+        if (!authorities.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_AUTHORITY, authorities);
+        }
+    }
+
+    /**
+     * Applies a role delta to the {@code authorities} rows of one user: one set-based DELETE for the
+     * removed roles and one batch INSERT for the added ones, leaving unchanged rows alone. Roles are
+     * read from {@code users.roles}; the table is only kept for the IAM server's user details query,
+     * so it must be written in the same transaction as the user.
+     */
+    public void updateAuthorities(String username, Set<Authorities> added, Set<Authorities> removed) {
+        if (!removed.isEmpty()) {
+            jdbcTemplate.update(DELETE_AUTHORITIES, new MapSqlParameterSource("username", username)
+                    .addValue("authorities", removed.stream().map(Authorities::getAuthority).toList()));
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_AUTHORITY, added.stream()
+                    .map(authority -> new Object[]{username, authority.getAuthority()})
+                    .toList());
+        }
+    }
+
+    /**
+     * Returns the ids of the given usernames that exist, keyed by the username as stored.
+     */
+    public Map<String, Long> findIdsByUsernames(Collection<String> usernames) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> usernameList = List.copyOf(usernames);
+        for (int start = 0; start < usernameList.size(); start += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = usernameList.subList(start, Math.min(start + IN_CLAUSE_CHUNK_SIZE, usernameList.size()));
+            jdbcTemplate.query(SELECT_IDS_BY_USERNAME, new MapSqlParameterSource("usernames", chunk),
+                    rs -> {
+                        ids.put(rs.getString("username"), rs.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    /**
+     * Passes every user with their roles to {@code consumer} in id order, reading from a forward-only
+     * cursor so memory use does not grow with the table. The connection is held until the last row.
+     */
+    public void streamUsers(Consumer<UserRow> consumer) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_USERS_WITH_ROLES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(new UserRow(
+                    rs.getLong("id"),
+                    rs.getString("username"),
+                    rs.getString("name"),
+                    rs.getString("email"),
+                    rs.getBoolean("enabled"),
+                    Authorities.namesOf(rs.getInt("roles")),
+                    rs.getLong("version")));
+        });
+    }
+
+    /**
+     * Passes the id, role mask and enabled flag of every user to {@code handler}, streamed like
+     * {@link #streamUsers(Consumer)}.
+     */
+    public void streamRoles(RoleHandler handler) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ROLES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            return statement;
+        }, rs -> {
+            handler.accept(rs.getLong("id"), rs.getInt("roles"), rs.getBoolean("enabled"));
+        });
+    }
+
+    /**
+     * Passes every username to {@code consumer}, streamed like {@link #streamUsers(Consumer)}.
+     */
+    public void streamUsernames(Consumer<String> consumer) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_USERNAMES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getString("username"));
+        });
+    }
+
+    @FunctionalInterface
+    public interface RoleHandler {
+        void accept(long id, int roles, boolean enabled);
+    }
+
+    public record UserRow(long id, String username, String name, String email, boolean enabled, List<String> roles,
+                          long version) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /**
+     * Loads a user by the {@code username} natural id, so repeated lookups are answered from the
+     * second-level cache instead of a query.
+     */
+    Optional<UserEntity> findByUsername(String username);
+}
@@ -0,0 +1,26 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Picked up by Spring Data as the implementation of the UserNaturalIdRepository fragment of UserRepository
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+    private final EntityManager entityManager;
+
+    UserNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Without a surrounding transaction the shared EntityManager closes the unwrapped session straight away
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserEntity> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(username);
+    }
+}
@@ -0,0 +1,72 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.domain.UserChangeType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code user_outbox} table of user change events.
+ * <p>
+ * Events are appended in the transaction that changes the user, so an event exists if and only if
+ * the change committed. {@code UserOutboxPublisher} claims them in id order and deletes them once
+ * the sink has accepted them.
+ */
+@Repository
+public class UserOutboxRepository {
+    private static final String INSERT_EVENT =
+            "INSERT INTO user_outbox (event_type, user_id, username, occurred_at) VALUES (?, ?, ?, ?)";
+    // SKIP LOCKED passes over rows another instance has claimed instead of waiting for them
+    private static final String CLAIM_OLDEST =
+            "SELECT id, event_type, user_id, username, occurred_at FROM user_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_EVENTS =
+            "DELETE FROM user_outbox WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserOutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(UserChangeType type, long userId, String username) {
+        jdbcTemplate.getJdbcTemplate().update(INSERT_EVENT, type.name(), userId, username, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Appends one event per user, keyed by username, as a single JDBC batch.
+     */
+    public void appendAll(UserChangeType type, Map<String, Long> idsByUsername) {
+        if (idsByUsername.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(idsByUsername.size());
+        idsByUsername.forEach((username, id) -> rows.add(new Object[]{type.name(), id, username, now}));
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_EVENT, rows);
+    }
+
+    /**
+     * Locks and returns up to {@code limit} of the oldest events that no other transaction has locked.
+     * Must run in a transaction, which holds the claim until it deletes the events and commits.
+     */
+    public List<UserChangeEvent> claimOldest(int limit) {
+        return jdbcTemplate.query(CLAIM_OLDEST, new MapSqlParameterSource("limit", limit), (rs, rowNum) ->
+                new UserChangeEvent(rs.getLong("id"), UserChangeType.valueOf(rs.getString("event_type")),
+                        rs.getLong("user_id"), rs.getString("username"), rs.getTimestamp("occurred_at").toInstant()));
+    }
+
+    public void deleteByIds(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(DELETE_EVENTS, new MapSqlParameterSource("ids", ids));
+        }
+    }
+}
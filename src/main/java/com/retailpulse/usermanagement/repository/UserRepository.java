@@ -1,14 +1,53 @@
 package com.retailpulse.usermanagement.repository;
 
 import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    Optional<UserEntity> findByNameContaining(String name);
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserNaturalIdRepository {
 
-    Optional<UserEntity> findByUsername(String username);
+    // Keyset page: seeks on the primary key instead of counting past an OFFSET
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<UserEntity> findAllByIdIn(Collection<Long> ids);
+
+    List<UserEntity> findAllByUsernameIn(Collection<String> usernames);
+
+    List<UserEntity> findAllByIdInOrUsernameIn(Collection<Long> ids, Collection<String> usernames);
+
+    /**
+     * Relevance-ranked ids of users whose username, name or email contain the phrase, served by the
+     * ngram FULLTEXT index {@code ft_users_search}. {@code phrase} must already be a quoted boolean-mode phrase.
+     */
+    @Query(value = """
+            SELECT u.id FROM users u
+            WHERE MATCH(u.username, u.name, u.email) AGAINST (:phrase IN BOOLEAN MODE)
+            ORDER BY MATCH(u.username, u.name, u.email) AGAINST (:phrase IN BOOLEAN MODE) DESC, u.id
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<Long> searchIds(@Param("phrase") String phrase, @Param("limit") int limit, @Param("offset") int offset);
 
     boolean existsByUsername(String username);
+
+    // Version-only reads let conditional GETs answer 304 without loading and mapping the user
+    @Query("SELECT u.version FROM UserEntity u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT u.version FROM UserEntity u WHERE u.username = :username")
+    Optional<Long> findVersionByUsername(@Param("username") String username);
+
+    /**
+     * Swaps in a new hash of the same password, only while {@code verifiedHash} is still stored. The
+     * version is left alone because nothing a client reads has changed. Hibernate clears the
+     * {@code users} cache region on a bulk update, which is acceptable for this once-per-user rehash.
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :hash WHERE u.id = :id AND u.password = :verifiedHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("verifiedHash") String verifiedHash, @Param("hash") String hash);
 }
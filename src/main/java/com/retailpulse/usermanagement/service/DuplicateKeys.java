@@ -0,0 +1,36 @@
+package com.retailpulse.usermanagement.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells a unique key violation apart from other integrity violations, however it was translated.
+ */
+final class DuplicateKeys {
+    // MySQL ER_DUP_ENTRY
+    private static final int DUPLICATE_ENTRY_ERROR = 1062;
+
+    private DuplicateKeys() {
+    }
+
+    // Repository saves are translated by the JPA dialect, which reports every integrity violation as a
+    // plain DataIntegrityViolationException, so the duplicate key is recognised from its cause
+    static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getErrorCode() == DUPLICATE_ENTRY_ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
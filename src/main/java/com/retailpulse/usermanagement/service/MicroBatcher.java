@@ -0,0 +1,120 @@
+package com.retailpulse.usermanagement.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Gathers concurrent single-key lookups into one batch load, in the manner of DataLoader. The first
+ * caller to open a batch waits out the window and then loads everything collected meanwhile; a batch
+ * that reaches {@code maxBatchSize} first is loaded at once by the caller that filled it, which also
+ * releases the opener early. Each caller blocks only until its own key is resolved. No extra threads
+ * are involved: loads run on a caller's thread, so a batch never waits behind another.
+ *
+ * <p>Callers asking for the same key within one window share its entry. A failed load fails every
+ * caller in that batch.
+ */
+public final class MicroBatcher<K, V> {
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final Object lock = new Object();
+    // Guarded by lock
+    private Map<K, CompletableFuture<V>> open;
+
+    /**
+     * @param batchLoader loads every requested key in one call; keys it leaves out resolve to null
+     */
+    public MicroBatcher(String name, Function<Set<K>, Map<K, V>> batchLoader, Duration window, int maxBatchSize,
+                        MeterRegistry meterRegistry) {
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("user.lookup.batch.size")
+                .description("Keys resolved per batched lookup query")
+                .tag("key", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves {@code key} as part of the current batch, or null when the loader did not return it.
+     */
+    public V load(K key) {
+        CompletableFuture<V> result;
+        Map<K, CompletableFuture<V>> opened = null;
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (lock) {
+            if (open == null) {
+                open = new HashMap<>();
+                opened = open;
+            }
+            result = open.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (open.size() >= maxBatchSize) {
+                full = open;
+                open = null;
+            }
+        }
+
+        if (full != null) {
+            flush(full);
+        } else if (opened != null && !completesWithinWindow(result)) {
+            Map<K, CompletableFuture<V>> due = null;
+            synchronized (lock) {
+                // Already taken if it filled up just as the window closed
+                if (open == opened) {
+                    due = open;
+                    open = null;
+                }
+            }
+            if (due != null) {
+                flush(due);
+            }
+        }
+
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // Returns early when the batch fills up and is loaded by another caller before the window closes
+    private boolean completesWithinWindow(CompletableFuture<V> result) {
+        try {
+            result.get(windowNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flush(Map<K, CompletableFuture<V>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            Map<K, V> loaded = batchLoader.apply(batch.keySet());
+            batch.forEach((key, result) -> result.complete(loaded.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(result -> result.completeExceptionally(e));
+            throw e;
+        }
+    }
+}
@@ -1,23 +1,150 @@
 package com.retailpulse.usermanagement.service;
 
 import com.retailpulse.usermanagement.domain.exception.InvalidPasswordException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes and verifies passwords on a dedicated, bounded pool so hashing work cannot occupy every
+ * request thread. When both the pool and its queue are full the call fails fast with
+ * {@link ServiceOverloadedException} instead of waiting.
+ *
+ * <p>New hashes use the configured algorithm at a work factor calibrated at startup to the target
+ * hash time; see {@link PasswordHasher} for how older hashes are still verified.
+ */
 @Service
 public class PasswordEncoder {
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private static final String PASSWORD_HASHING_BUSY = "PASSWORD_HASHING_BUSY";
+
+    private final PasswordHasher passwordHasher;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    public PasswordEncoder(@Value("${user.password.hashing.threads:0}") int threads,
+                           @Value("${user.password.hashing.queue-capacity:0}") int queueCapacity,
+                           @Value("${user.password.hashing.algorithm:bcrypt}") String algorithm,
+                           // 0 keeps the algorithm's minimum work factor instead of calibrating
+                           @Value("${user.password.hashing.target-time:0ms}") Duration targetTime,
+                           MeterRegistry meterRegistry) {
+        this.passwordHasher = PasswordHasher.calibrated(PasswordHashAlgorithm.fromId(algorithm), targetTime);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int queueSize = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(hashingExecutor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+        this.hashTimer = Timer.builder("user.password.hashing")
+                .description("Time spent computing a password hash, excluding queueing")
+                .tag("operation", "hash")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("user.password.hashing")
+                .description("Time spent verifying a password hash, excluding queueing")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        Gauge.builder("user.password.hashing.work.factor", passwordHasher, PasswordHasher::getWorkFactor)
+                .description("Work factor new password hashes are written with")
+                .tag("algorithm", passwordHasher.getAlgorithm().getId())
+                .register(meterRegistry);
+    }
 
     public String hashPassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return execute(() -> hashTimer.record(() -> passwordHasher.encode(rawPassword)));
     }
 
     public boolean matches(String rawPassword, String hashedPassword) {
+        boolean matches = execute(() -> verifyTimer.record(() -> passwordHasher.matches(rawPassword, hashedPassword)));
 
-        if (!passwordEncoder.matches(rawPassword, hashedPassword)) {
+        if (!matches) {
             throw new InvalidPasswordException("Invalid password");
         }
 
         return true;
     }
+
+    /**
+     * True when {@code hashedPassword} was written with another algorithm or a lower work factor than
+     * new hashes get. Cheap: it only reads the hash's prefix and parameters.
+     */
+    public boolean needsRehash(String hashedPassword) {
+        return passwordHasher.needsRehash(hashedPassword);
+    }
+
+    /**
+     * Hashes a batch of passwords in parallel. Work is submitted one pool-width at a time so a large
+     * import never fills the queue that interactive requests rely on.
+     */
+    public List<String> hashPasswords(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        int window = hashingExecutor.getCorePoolSize();
+        for (int start = 0; start < rawPasswords.size(); start += window) {
+            List<Future<String>> futures = rawPasswords.subList(start, Math.min(start + window, rawPasswords.size())).stream()
+                    .map(rawPassword -> submit(() -> hashTimer.record(() -> passwordHasher.encode(rawPassword))))
+                    .toList();
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+        }
+        return hashes;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        return await(submit(task));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return hashingExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException(PASSWORD_HASHING_BUSY, "Too many password operations in progress. Please retry shortly.");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
 }
@@ -0,0 +1,85 @@
+package com.retailpulse.usermanagement.service;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Locale;
+
+/**
+ * Password hashing algorithms the service can write, each tuned by a single work factor. The minimum is
+ * the OWASP floor: calibration on fast hardware can raise the work factor but never go below it.
+ */
+public enum PasswordHashAlgorithm {
+    /**
+     * Work factor is the log2 cost, so each step doubles the time.
+     */
+    BCRYPT("bcrypt", 10, 31, true) {
+        @Override
+        public org.springframework.security.crypto.password.PasswordEncoder encoder(int workFactor) {
+            return new BCryptPasswordEncoder(workFactor);
+        }
+    },
+    /**
+     * PBKDF2-HMAC-SHA256; work factor is the iteration count, so time grows linearly with it.
+     */
+    PBKDF2("pbkdf2", 600_000, 10_000_000, false) {
+        @Override
+        public org.springframework.security.crypto.password.PasswordEncoder encoder(int workFactor) {
+            return new Pbkdf2PasswordEncoder("", 16, workFactor, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        }
+    },
+    /**
+     * Argon2id with 19 MiB (19456 KiB) of memory and one lane, the OWASP minimum for two passes; work
+     * factor is the number of passes over that memory. Hashes written with less memory are rehashed.
+     */
+    ARGON2("argon2", 2, 100, false) {
+        @Override
+        public org.springframework.security.crypto.password.PasswordEncoder encoder(int workFactor) {
+            return new Argon2PasswordEncoder(16, 32, 1, 19_456, workFactor);
+        }
+    };
+
+    private final String id;
+    private final int minimumWorkFactor;
+    private final int maximumWorkFactor;
+    // True when each step of the work factor doubles the time rather than adding to it
+    private final boolean exponential;
+
+    PasswordHashAlgorithm(String id, int minimumWorkFactor, int maximumWorkFactor, boolean exponential) {
+        this.id = id;
+        this.minimumWorkFactor = minimumWorkFactor;
+        this.maximumWorkFactor = maximumWorkFactor;
+        this.exponential = exponential;
+    }
+
+    public abstract org.springframework.security.crypto.password.PasswordEncoder encoder(int workFactor);
+
+    public String getId() {
+        return id;
+    }
+
+    public int getMinimumWorkFactor() {
+        return minimumWorkFactor;
+    }
+
+    /**
+     * Work factor expected to take {@code ratio} times as long as {@code workFactor}, clamped to the
+     * algorithm's range and never rounded up past the target.
+     */
+    int scale(int workFactor, double ratio) {
+        double scaled = exponential
+                ? workFactor + Math.floor(Math.log(ratio) / Math.log(2))
+                : Math.floor(workFactor * ratio);
+        return (int) Math.max(minimumWorkFactor, Math.min(maximumWorkFactor, scaled));
+    }
+
+    public static PasswordHashAlgorithm fromId(String id) {
+        for (PasswordHashAlgorithm algorithm : values()) {
+            if (algorithm.id.equals(id.toLowerCase(Locale.ROOT))) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown password hashing algorithm: " + id);
+    }
+}
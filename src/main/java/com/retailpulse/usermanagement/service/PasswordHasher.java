@@ -0,0 +1,139 @@
+package com.retailpulse.usermanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes hashes with one configured algorithm and verifies hashes written by any of them, telling them
+ * apart by a {@code {id}} prefix. BCrypt hashes are written without a prefix, as they always have been,
+ * so the IAM server can keep verifying them with a plain BCrypt encoder; any unprefixed hash is read as
+ * BCrypt. PBKDF2 does not record its iteration count in the hash, so its prefix carries it:
+ * {@code {pbkdf2:600000}}.
+ *
+ * <p>Thread-safe. Hashing is CPU bound; callers run it on the {@link PasswordEncoder} pool.
+ */
+public final class PasswordHasher {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final String CALIBRATION_PASSWORD = "Calibration1";
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final PasswordHashAlgorithm algorithm;
+    private final int workFactor;
+    private final org.springframework.security.crypto.password.PasswordEncoder encoder;
+    private final String prefix;
+    // Verifiers for the prefixes met so far; bcrypt and argon2 read their parameters from the hash itself
+    private final Map<String, org.springframework.security.crypto.password.PasswordEncoder> verifiers = new ConcurrentHashMap<>();
+
+    public PasswordHasher(PasswordHashAlgorithm algorithm, int workFactor) {
+        this.algorithm = algorithm;
+        this.workFactor = workFactor;
+        this.encoder = algorithm.encoder(workFactor);
+        this.prefix = switch (algorithm) {
+            case BCRYPT -> "";
+            case PBKDF2 -> "{" + algorithm.getId() + ":" + workFactor + "}";
+            case ARGON2 -> "{" + algorithm.getId() + "}";
+        };
+    }
+
+    /**
+     * Picks the largest work factor whose hash time on this machine stays within {@code targetTime}, but
+     * never less than the algorithm's minimum. A zero target skips calibration and uses the minimum.
+     */
+    public static PasswordHasher calibrated(PasswordHashAlgorithm algorithm, Duration targetTime) {
+        int minimum = algorithm.getMinimumWorkFactor();
+        if (targetTime.isZero()) {
+            return new PasswordHasher(algorithm, minimum);
+        }
+
+        long measured = measure(algorithm.encoder(minimum));
+        int workFactor = algorithm.scale(minimum, (double) targetTime.toNanos() / measured);
+        logger.info("Password hashing calibrated: " + algorithm.getId() + " work factor " + workFactor
+                + " (" + measured / 1_000_000 + " ms at " + minimum + ", target " + targetTime.toMillis() + " ms)");
+        return new PasswordHasher(algorithm, workFactor);
+    }
+
+    public PasswordHashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getWorkFactor() {
+        return workFactor;
+    }
+
+    public String encode(String rawPassword) {
+        return prefix + encoder.encode(rawPassword);
+    }
+
+    /**
+     * False as well when {@code storedHash} cannot be read, such as an unknown {@code {id}} prefix or a
+     * malformed PBKDF2 iteration count, since no password can be verified against it.
+     */
+    public boolean matches(String rawPassword, String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        String id = idOf(storedHash);
+        try {
+            return verifier(id).matches(rawPassword, hashOf(storedHash));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Stored password hash with prefix {" + id + "} cannot be verified: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * True when {@code storedHash} was written by another algorithm or with a lower work factor than
+     * this hasher's, so it should be replaced the next time the raw password is known.
+     */
+    public boolean needsRehash(String storedHash) {
+        if (storedHash == null) {
+            return false;
+        }
+        String id = idOf(storedHash);
+        if (algorithm == PasswordHashAlgorithm.PBKDF2) {
+            return !id.startsWith(algorithm.getId() + ":") || iterationsOf(id) < workFactor;
+        }
+        return !id.equals(algorithm.getId()) || encoder.upgradeEncoding(hashOf(storedHash));
+    }
+
+    private org.springframework.security.crypto.password.PasswordEncoder verifier(String id) {
+        return verifiers.computeIfAbsent(id, key -> {
+            if (key.startsWith(PasswordHashAlgorithm.PBKDF2.getId() + ":")) {
+                return PasswordHashAlgorithm.PBKDF2.encoder(iterationsOf(key));
+            }
+            PasswordHashAlgorithm stored = PasswordHashAlgorithm.fromId(key);
+            return stored.encoder(stored.getMinimumWorkFactor());
+        });
+    }
+
+    private static String idOf(String storedHash) {
+        int end = storedHash.indexOf('}');
+        return storedHash.startsWith("{") && end > 0 ? storedHash.substring(1, end) : PasswordHashAlgorithm.BCRYPT.getId();
+    }
+
+    private static String hashOf(String storedHash) {
+        int end = storedHash.indexOf('}');
+        return storedHash.startsWith("{") && end > 0 ? storedHash.substring(end + 1) : storedHash;
+    }
+
+    private static int iterationsOf(String pbkdf2Id) {
+        return Integer.parseInt(pbkdf2Id.substring(pbkdf2Id.indexOf(':') + 1));
+    }
+
+    // Fastest of a few runs after a warm-up hash, so JIT compilation and a busy neighbour do not inflate it
+    private static long measure(org.springframework.security.crypto.password.PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return Math.max(1, fastest);
+    }
+}
@@ -0,0 +1,142 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight load between concurrent callers asking for the same key. The first caller runs
+ * the loader on its own thread; callers arriving while it runs wait for its result instead of loading
+ * again. Nothing is kept once the load finishes, so this only collapses overlapping calls and is no cache.
+ *
+ * <p>Waiting is bounded both ways: at most {@code maxWaiters} callers wait on one load, and each waits at
+ * most {@code waitTimeout}. A caller turned away by either bound runs the loader itself, which is what it
+ * would have done without coalescing.
+ *
+ * <p>A write that makes an in-flight load stale calls {@link #forget(Object)}. The leader's own cleanup
+ * only removes its own flight, so it never detaches a newer load started after the forget.
+ */
+final class SingleFlight<K, V> {
+    private static final String SERVER_BUSY = "SERVER_BUSY";
+
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+    private final long waitTimeoutNanos;
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter overflowed;
+    private final Counter timedOut;
+
+    SingleFlight(String name, int maxWaiters, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.maxWaiters = maxWaiters;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.loaded = counter(meterRegistry, name, "loaded");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        this.overflowed = counter(meterRegistry, name, "overflowed");
+        this.timedOut = counter(meterRegistry, name, "timed-out");
+        Gauge.builder("user.lookup.single.flight.ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of cache-miss lookups answered by another caller's load")
+                .tag("key", name)
+                .register(meterRegistry);
+    }
+
+    V load(K key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return lead(key, flight, loader);
+        }
+
+        if (leader.waiters.incrementAndGet() > maxWaiters) {
+            leader.waiters.decrementAndGet();
+            overflowed.increment();
+            return loadAlone(loader);
+        }
+        try {
+            V value = leader.result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            return loadAlone(loader);
+        } catch (InterruptedException e) {
+            // Usually the server shutting down or the request being abandoned, so answer 503 rather than 500
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(SERVER_BUSY, "Interrupted while waiting for a shared load. Please retry shortly.");
+        } catch (ExecutionException e) {
+            // Waiters see the leader's failure, as they would have hit the same one themselves
+            coalesced.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shared load failed", e.getCause());
+        } finally {
+            leader.waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Detaches the load in flight for {@code key}, if any, so later callers start a fresh one. Callers
+     * already waiting on it still get its result, which was read before whatever prompted this.
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    int waiters(K key) {
+        Flight<V> flight = inFlight.get(key);
+        return flight == null ? 0 : flight.waiters.get();
+    }
+
+    double coalescingRatio() {
+        double shared = coalesced.count();
+        double total = shared + loaded.count();
+        return total == 0 ? 0 : shared / total;
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loadAlone(loader);
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V loadAlone(Supplier<V> loader) {
+        loaded.increment();
+        return loader.get();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("user.lookup.single.flight")
+                .description("Cache-miss lookups by whether they loaded or shared another caller's load")
+                .tag("key", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -0,0 +1,179 @@
+package com.retailpulse.usermanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of {@link ViewUserDTO} for the single-user lookups.
+ * <p>
+ * Users are stored once, keyed by id. The username key only maps to an id, so invalidating an id
+ * is enough to drop every way of reaching that user; a username pointing at an evicted id is
+ * treated as a miss and cleaned up.
+ * <p>
+ * Loaders read {@link #generation()} before querying and pass it to {@code put}. Every invalidation
+ * records the generation it happened at against its id or username, so a load that raced a write to
+ * the same user is not cached and cannot outlive the invalidation for the rest of its TTL, while
+ * loads of other users are unaffected. Only the most recent invalidations are kept per key; older
+ * ones are folded into a floor below which every load is refused. Puts also never replace a cached
+ * user with an older version.
+ */
+@Component
+public class UserCache implements MeterBinder {
+    // Far more than the writes that can land while one load is in flight
+    private static final int MAX_TRACKED_INVALIDATIONS = 10_000;
+
+    private final Cache<Long, ViewUserDTO> usersById;
+    private final Cache<String, Long> idsByUsername;
+    private final AtomicLong generation = new AtomicLong();
+    // Generation of the latest invalidation of each recently written id and (lower-cased) username
+    private final Map<Long, Long> invalidatedIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> invalidatedUsernames = new ConcurrentHashMap<>();
+    // Loads read before this generation are refused, since invalidations up to it are no longer tracked per key
+    private volatile long floor;
+
+    public UserCache(@Value("${user.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${user.cache.time-to-live:10m}") Duration timeToLive) {
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public ViewUserDTO getById(Long id) {
+        return usersById.getIfPresent(id);
+    }
+
+    public ViewUserDTO getByUsername(String username) {
+        Long id = idsByUsername.getIfPresent(username);
+        if (id == null) {
+            return null;
+        }
+
+        ViewUserDTO user = usersById.getIfPresent(id);
+        if (user == null) {
+            idsByUsername.invalidate(username);
+        }
+        return user;
+    }
+
+    /**
+     * Invalidation generation to capture before loading a user that will be passed to {@code put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(ViewUserDTO user) {
+        put(user, generation());
+    }
+
+    /**
+     * Caches {@code user} unless it was invalidated, by id or username, since {@code loadedAt} was
+     * read from {@link #generation()}, or a newer version of the user is already cached.
+     */
+    public void put(ViewUserDTO user, long loadedAt) {
+        if (store(user, null, loadedAt)) {
+            idsByUsername.put(user.username(), user.id());
+        }
+    }
+
+    public void put(String username, ViewUserDTO user) {
+        put(username, user, generation());
+    }
+
+    public void put(String username, ViewUserDTO user, long loadedAt) {
+        if (store(user, username, loadedAt)) {
+            idsByUsername.put(user.username(), user.id());
+            // Keep the key the caller looked up with, which may differ in case from the stored username
+            idsByUsername.put(username, user.id());
+        }
+    }
+
+    private boolean store(ViewUserDTO user, String lookupUsername, long loadedAt) {
+        // Checked under the entry's lock, which invalidate also takes, so the check and the write are atomic
+        ViewUserDTO stored = usersById.asMap().compute(user.id(), (id, cached) -> {
+            if (isStale(user, lookupUsername, loadedAt) || (cached != null && isNewer(cached, user))) {
+                return cached;
+            }
+            return user;
+        });
+        return stored == user;
+    }
+
+    private boolean isStale(ViewUserDTO user, String lookupUsername, long loadedAt) {
+        return loadedAt < floor
+                || invalidatedIds.getOrDefault(user.id(), 0L) > loadedAt
+                || invalidatedUsernames.getOrDefault(usernameKey(user.username()), 0L) > loadedAt
+                || (lookupUsername != null && invalidatedUsernames.getOrDefault(usernameKey(lookupUsername), 0L) > loadedAt);
+    }
+
+    public void invalidate(Long id) {
+        record(invalidatedIds, id);
+        usersById.invalidate(id);
+    }
+
+    public void invalidateUsername(String username) {
+        record(invalidatedUsernames, usernameKey(username));
+        idsByUsername.invalidate(username);
+    }
+
+    private <K> void record(Map<K, Long> invalidations, K key) {
+        invalidations.merge(key, generation.incrementAndGet(), Math::max);
+        if (invalidatedIds.size() + invalidatedUsernames.size() > MAX_TRACKED_INVALIDATIONS) {
+            forgetOldInvalidations();
+        }
+    }
+
+    // Raises the floor before dropping entries, so a store racing the cleanup is still refused by one of them
+    private synchronized void forgetOldInvalidations() {
+        long cutoff = generation.get() - MAX_TRACKED_INVALIDATIONS / 2;
+        if (cutoff <= floor) {
+            return;
+        }
+        floor = cutoff;
+        invalidatedIds.values().removeIf(invalidatedAt -> invalidatedAt <= cutoff);
+        invalidatedUsernames.values().removeIf(invalidatedAt -> invalidatedAt <= cutoff);
+    }
+
+    // Usernames compare without case in the database, so a write under one spelling covers all of them
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isNewer(ViewUserDTO cached, ViewUserDTO user) {
+        return cached.version() != null && user.version() != null && cached.version() > user.version();
+    }
+
+    public CacheStats byIdStats() {
+        return usersById.stats();
+    }
+
+    public CacheStats byUsernameStats() {
+        return idsByUsername.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(registry, idsByUsername, "users.byUsername");
+    }
+}
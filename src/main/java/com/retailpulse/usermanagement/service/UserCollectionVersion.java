@@ -0,0 +1,94 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.infrastructure.persistence.UserCollectionVersionEntity;
+import com.retailpulse.usermanagement.repository.UserCollectionVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Version of the user collection as a whole, used as the ETag of the list endpoints, and shared by
+ * all instances. Each write path in {@link UserService} and {@link UserImportService}, password
+ * changes included, calls {@link #increment()} from the transaction that writes the users. A write
+ * that skips it, such as a manual update in the database, leaves clients holding a tag for content
+ * that has changed until the next counted write.
+ * <p>
+ * The counter is bumped after that transaction commits, in a short transaction of its own, so user
+ * writes do not queue behind each other on its row lock. Until the bump lands, a conditional list
+ * request may still be answered 304 for the content from just before the write. A bump that fails
+ * is retried by the next {@link #current()} on this instance.
+ */
+@Component
+public class UserCollectionVersion {
+    private static final Logger logger = LoggerFactory.getLogger(UserCollectionVersion.class);
+
+    private final UserCollectionVersionRepository repository;
+    private final TransactionTemplate incrementTransactionTemplate;
+    private final AtomicBoolean bumpPending = new AtomicBoolean();
+
+    public UserCollectionVersion(UserCollectionVersionRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.incrementTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.incrementTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!repository.existsById(UserCollectionVersionEntity.ID)) {
+            try {
+                repository.save(new UserCollectionVersionEntity(0));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance seeded it first
+            }
+        }
+    }
+
+    public long current() {
+        if (bumpPending.compareAndSet(true, false)) {
+            bump();
+        }
+        return repository.findCurrentVersion().orElse(0L);
+    }
+
+    /**
+     * Called in the transaction that changes the users table; the counter moves once it commits and
+     * not at all when it rolls back.
+     */
+    public void increment() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+        });
+    }
+
+    // The user write has already committed, so a failure here must not reach its caller
+    private void bump() {
+        try {
+            Integer updated = incrementTransactionTemplate.execute(status -> repository.increment());
+            if (updated == null || updated == 0) {
+                logger.warn("user_collection_version has no row " + UserCollectionVersionEntity.ID
+                        + "; list ETags will not change until it is seeded");
+            }
+        } catch (DataAccessException e) {
+            // Pending bumps coalesce; one successful increment is enough to change the tag
+            bumpPending.set(true);
+            logger.warn("Failed to bump the user collection version; retrying on the next read", e);
+        }
+    }
+}
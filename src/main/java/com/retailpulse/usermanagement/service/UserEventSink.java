@@ -0,0 +1,14 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination of user change events drained from the outbox. Implementations must either accept
+ * the whole batch or throw, in which case the batch is offered again later; consumers therefore
+ * see every event at least once and must tolerate repeats.
+ */
+public interface UserEventSink {
+    void publish(List<UserChangeEvent> events);
+}
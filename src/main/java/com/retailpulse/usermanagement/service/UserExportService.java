@@ -0,0 +1,75 @@
+package com.retailpulse.usermanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository.UserRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the whole user directory as NDJSON, one user per line with the same fields as
+ * {@code ViewUserDTO}. Rows go straight from the JDBC cursor to the output stream, so memory use
+ * stays flat however many users there are.
+ */
+@Service
+public class UserExportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    public UserExportService(UserJdbcRepository userJdbcRepository, ObjectMapper objectMapper) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public long exportUsers(OutputStream outputStream, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : outputStream;
+        long[] count = {0};
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            // Each object ends with its own newline, so no separator is wanted between root values
+            generator.setRootValueSeparator(null);
+            userJdbcRepository.streamUsers(row -> {
+                try {
+                    writeUser(generator, row);
+                    count[0]++;
+                } catch (IOException e) {
+                    // Usually the client disconnected; stop the export rather than keep writing to a dead stream
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            logger.warn("User export aborted after " + count[0] + " users");
+            throw e.getCause();
+        }
+
+        logger.info("Exported " + count[0] + " users");
+        return count[0];
+    }
+
+    private static void writeUser(JsonGenerator generator, UserRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.id());
+        generator.writeStringField("username", row.username());
+        generator.writeStringField("email", row.email());
+        generator.writeStringField("name", row.name());
+        generator.writeArrayFieldStart("roles");
+        for (String role : row.roles()) {
+            generator.writeString(role);
+        }
+        generator.writeEndArray();
+        generator.writeBooleanField("enabled", row.enabled());
+        generator.writeNumberField("version", row.version());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
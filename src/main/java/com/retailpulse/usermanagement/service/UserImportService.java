@@ -0,0 +1,261 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.config.ReadYourWritesWindow;
+import com.retailpulse.usermanagement.controller.BulkImportReportDTO;
+import com.retailpulse.usermanagement.controller.BulkImportResultDTO;
+import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.domain.UserChangeType;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one call. Every row is validated before anything is written, passwords are
+ * hashed in parallel, and valid rows are inserted with JDBC batches in chunked transactions so one
+ * failing chunk does not roll back the whole import.
+ */
+@Service
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String CREATED = "CREATED";
+    private static final String FAILED = "FAILED";
+    private static final String USERNAME_EXIST = "USERNAME_EXIST";
+    private static final String INVALID_FORMAT = "INVALID_FORMAT";
+    private static final String IMPORT_TOO_LARGE = "IMPORT_TOO_LARGE";
+    private static final String IMPORT_FAILED = "IMPORT_FAILED";
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final UserLoadCoalescer userLoadCoalescer;
+    private final UserRoleIndex userRoleIndex;
+    private final UserCollectionVersion userCollectionVersion;
+    private final UsernameFilter usernameFilter;
+    private final UserOutboxRepository userOutboxRepository;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRows;
+    private final int chunkSize;
+
+    public UserImportService(UserJdbcRepository userJdbcRepository,
+                             PasswordEncoder passwordEncoder,
+                             UserCache userCache,
+                             UserLoadCoalescer userLoadCoalescer,
+                             UserRoleIndex userRoleIndex,
+                             UserCollectionVersion userCollectionVersion,
+                             UsernameFilter usernameFilter,
+                             UserOutboxRepository userOutboxRepository,
+                             ReadYourWritesWindow readYourWritesWindow,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${user.bulk-import.max-rows:10000}") int maxRows,
+                             @Value("${user.bulk-import.chunk-size:500}") int chunkSize) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.userLoadCoalescer = userLoadCoalescer;
+        this.userRoleIndex = userRoleIndex;
+        this.userCollectionVersion = userCollectionVersion;
+        this.usernameFilter = usernameFilter;
+        this.userOutboxRepository = userOutboxRepository;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.transactionTemplate = transactionTemplate;
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkImportReportDTO importUsers(List<CreateUserDTO> rows) {
+        if (rows.size() > maxRows) {
+            throw new BusinessException(IMPORT_TOO_LARGE, "Import is limited to " + maxRows + " users. Failed to import users.");
+        }
+
+        BulkImportResultDTO[] results = new BulkImportResultDTO[rows.size()];
+        List<PendingUser> pending = validate(rows, results);
+        rejectExistingUsernames(pending, results);
+
+        List<PendingUser> accepted = pending.stream().filter(user -> results[user.index()] == null).toList();
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            persistChunk(accepted.subList(start, Math.min(start + chunkSize, accepted.size())), results);
+        }
+
+        List<BulkImportResultDTO> report = Arrays.asList(results);
+        int created = (int) report.stream().filter(result -> CREATED.equals(result.status())).count();
+        logger.info("Imported " + created + " of " + rows.size() + " users");
+        return new BulkImportReportDTO(rows.size(), created, rows.size() - created, report);
+    }
+
+    private List<PendingUser> validate(List<CreateUserDTO> rows, BulkImportResultDTO[] results) {
+        List<PendingUser> pending = new ArrayList<>(rows.size());
+        Set<String> seenUsernames = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateUserDTO row = rows.get(i);
+            String username = row.username();
+
+            if (username != null && !username.isBlank() && !seenUsernames.add(username.toLowerCase(Locale.ROOT))) {
+                results[i] = failed(i, username, USERNAME_EXIST, "Username appears more than once in the import.");
+                continue;
+            }
+
+            List<FieldErrorDTO> errors = UserValidator.validate(row);
+            if (!errors.isEmpty()) {
+                results[i] = failed(i, username, INVALID_FORMAT,
+                        errors.stream().map(FieldErrorDTO::message).collect(Collectors.joining(" ")));
+                continue;
+            }
+
+            Set<Authorities> authorities = row.roles() == null ? Set.of()
+                    : row.roles().stream().map(Authorities::valueOf).collect(Collectors.toSet());
+            // Built without a password so nothing is hashed for rows rejected later
+            User user = new User.Builder(username)
+                    .name(row.name())
+                    .email(row.email())
+                    .authorities(authorities)
+                    .trusted()
+                    .build();
+            pending.add(new PendingUser(i, row, user));
+        }
+        return pending;
+    }
+
+    private void rejectExistingUsernames(List<PendingUser> pending, BulkImportResultDTO[] results) {
+        // Only usernames the filter might contain can exist, so the rest are not queried
+        List<String> candidates = pending.stream()
+                .map(user -> user.row().username())
+                .filter(usernameFilter::mightContain)
+                .toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = userJdbcRepository.findIdsByUsernames(candidates)
+                .keySet().stream()
+                .map(username -> username.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        for (PendingUser user : pending) {
+            if (existing.contains(user.row().username().toLowerCase(Locale.ROOT))) {
+                results[user.index()] = failed(user.index(), user.row().username(), USERNAME_EXIST, "Username already exist.");
+            }
+        }
+    }
+
+    private void persistChunk(List<PendingUser> chunk, BulkImportResultDTO[] results) {
+        List<String> hashes;
+        try {
+            hashes = passwordEncoder.hashPasswords(chunk.stream().map(user -> user.row().password()).toList());
+        } catch (ServiceOverloadedException e) {
+            // Earlier chunks are already committed, so this one is reported per row rather than failing the import
+            logger.warn("Password hashing is saturated; skipped a chunk of " + chunk.size() + " users");
+            failChunk(chunk, results, "Password hashing is busy. Please retry these rows.");
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).user().changePassword(hashes.get(i));
+        }
+        insertChunk(chunk, results, true);
+    }
+
+    private void insertChunk(List<PendingUser> chunk, BulkImportResultDTO[] results, boolean retryDuplicates) {
+        List<User> users = chunk.stream().map(PendingUser::user).toList();
+        try {
+            Map<String, Long> ids = transactionTemplate.execute(status -> {
+                userJdbcRepository.batchInsert(users);
+                userCollectionVersion.increment();
+                readYourWritesWindow.markWrite();
+                Map<String, Long> insertedIds = userJdbcRepository.findIdsByUsernames(users.stream().map(User::getUsername).toList());
+                userOutboxRepository.appendAll(UserChangeType.CREATED, insertedIds);
+                return insertedIds;
+            });
+
+            for (PendingUser user : chunk) {
+                String username = user.row().username();
+                Long id = ids.get(username);
+                userCache.invalidateUsername(username);
+                userLoadCoalescer.forgetUsername(username);
+                usernameFilter.add(username);
+                if (id != null) {
+                    userRoleIndex.put(id, Authorities.toMask(user.user().getAuthorities()), user.user().getEnabled());
+                }
+                results[user.index()] = new BulkImportResultDTO(user.index() + 1, username, CREATED, id, null, null);
+            }
+        } catch (DataAccessException e) {
+            if (retryDuplicates && e instanceof DataIntegrityViolationException violation
+                    && DuplicateKeys.isDuplicateKey(violation)) {
+                // Another request created some of these usernames after the existence check. The chunk
+                // rolled back, so report those rows and insert the rest once more.
+                insertUntakenUsernames(chunk, results);
+                return;
+            }
+            logger.warn("Failed to import a chunk of " + chunk.size() + " users", e);
+            failChunk(chunk, results, "Could not save this chunk of users. Please retry these rows.");
+        }
+    }
+
+    private void insertUntakenUsernames(List<PendingUser> chunk, BulkImportResultDTO[] results) {
+        List<PendingUser> remaining;
+        try {
+            remaining = rejectTakenUsernames(chunk, results);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to re-check usernames for a chunk of " + chunk.size() + " users", e);
+            failChunk(chunk, results, "Could not save this chunk of users. Please retry these rows.");
+            return;
+        }
+        if (!remaining.isEmpty()) {
+            insertChunk(remaining, results, false);
+        }
+    }
+
+    private List<PendingUser> rejectTakenUsernames(List<PendingUser> chunk, BulkImportResultDTO[] results) {
+        Set<String> existing = userJdbcRepository.findIdsByUsernames(chunk.stream().map(user -> user.row().username()).toList())
+                .keySet().stream()
+                .map(username -> username.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<PendingUser> remaining = new ArrayList<>(chunk.size());
+        for (PendingUser user : chunk) {
+            String username = user.row().username();
+            if (existing.contains(username.toLowerCase(Locale.ROOT))) {
+                usernameFilter.add(username);
+                results[user.index()] = failed(user.index(), username, USERNAME_EXIST, "Username already exist.");
+            } else {
+                remaining.add(user);
+            }
+        }
+        return remaining;
+    }
+
+    private static void failChunk(List<PendingUser> chunk, BulkImportResultDTO[] results, String message) {
+        for (PendingUser user : chunk) {
+            results[user.index()] = failed(user.index(), user.row().username(), IMPORT_FAILED, message);
+        }
+    }
+
+    private static BulkImportResultDTO failed(int index, String username, String errorCode, String message) {
+        return new BulkImportResultDTO(index + 1, username, FAILED, null, errorCode, message);
+    }
+
+    private record PendingUser(int index, CreateUserDTO row, User user) {
+    }
+}
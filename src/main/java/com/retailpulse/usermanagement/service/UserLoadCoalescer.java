@@ -0,0 +1,52 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent cache misses for the same user into one database load, so a popular account
+ * requested by many callers at once, typically just after a deploy, costs one query and one mapping.
+ * Lookups by id and by username coalesce separately; usernames are matched ignoring case, as the
+ * database does. Writes detach the loads in flight for the user they change, so callers arriving after
+ * the write do not share a result read before it.
+ */
+@Component
+public class UserLoadCoalescer {
+    private final SingleFlight<Long, Optional<ViewUserDTO>> byId;
+    private final SingleFlight<String, Optional<ViewUserDTO>> byUsername;
+
+    public UserLoadCoalescer(@Value("${user.single-flight.max-waiters:256}") int maxWaiters,
+                             @Value("${user.single-flight.wait-timeout:2s}") Duration waitTimeout,
+                             MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>("id", maxWaiters, waitTimeout, meterRegistry);
+        this.byUsername = new SingleFlight<>("username", maxWaiters, waitTimeout, meterRegistry);
+    }
+
+    public Optional<ViewUserDTO> loadById(Long id, Supplier<Optional<ViewUserDTO>> loader) {
+        return byId.load(id, loader);
+    }
+
+    public Optional<ViewUserDTO> loadByUsername(String username, Supplier<Optional<ViewUserDTO>> loader) {
+        return byUsername.load(usernameKey(username), loader);
+    }
+
+    public void forget(Long id, String username) {
+        byId.forget(id);
+        forgetUsername(username);
+    }
+
+    public void forgetUsername(String username) {
+        byUsername.forget(usernameKey(username));
+    }
+
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,139 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.controller.UserLookupDTO;
+import com.retailpulse.usermanagement.controller.UserLookupResultDTO;
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
+import com.retailpulse.usermanagement.repository.UserRepository;
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves many users by id or username in one call, for services that render lists of cashiers.
+ * Cached users are served from {@link UserCache}; the rest are loaded with a single {@code IN}
+ * query covering both kinds of key and then cached.
+ */
+@Service
+public class UserLookupService {
+    private static final String LOOKUP_TOO_LARGE = "LOOKUP_TOO_LARGE";
+    private static final String INVALID_FORMAT = "INVALID_FORMAT";
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int maxKeys;
+
+    public UserLookupService(UserRepository userRepository,
+                             UserCache userCache,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${user.lookup.max-keys:500}") int maxKeys) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.maxKeys = maxKeys;
+    }
+
+    public UserLookupResultDTO lookupUsers(UserLookupDTO lookupDTO) {
+        Set<Long> ids = lookupDTO.ids() == null ? Set.of() : new LinkedHashSet<>(lookupDTO.ids());
+        Set<String> usernames = lookupDTO.usernames() == null ? Set.of() : new LinkedHashSet<>(lookupDTO.usernames());
+        if (ids.size() + usernames.size() > maxKeys) {
+            throw new BusinessException(LOOKUP_TOO_LARGE, "Lookup is limited to " + maxKeys + " ids and usernames. Failed to look up users.");
+        }
+        // Rejected here because the caches cannot take null keys
+        List<FieldErrorDTO> errors = new ArrayList<>(2);
+        if (containsNull(ids)) {
+            errors.add(new FieldErrorDTO("ids", "Ids must not be null."));
+        }
+        if (containsNull(usernames)) {
+            errors.add(new FieldErrorDTO("usernames", "Usernames must not be null."));
+        }
+        ValidationException.throwIfAny(INVALID_FORMAT, errors, "Failed to look up users.");
+
+        Map<Long, ViewUserDTO> usersById = new LinkedHashMap<>();
+        Map<String, ViewUserDTO> usersByUsername = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingUsernames = new ArrayList<>();
+        for (Long id : ids) {
+            ViewUserDTO cachedUser = userCache.getById(id);
+            if (cachedUser != null) {
+                usersById.put(id, cachedUser);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (String username : usernames) {
+            ViewUserDTO cachedUser = userCache.getByUsername(username);
+            if (cachedUser != null) {
+                usersByUsername.put(username, cachedUser);
+            } else {
+                missingUsernames.add(username);
+            }
+        }
+
+        if (!missingIds.isEmpty() || !missingUsernames.isEmpty()) {
+            long generation = userCache.generation();
+            Map<Long, ViewUserDTO> loadedById = new HashMap<>();
+            // Usernames compare case-insensitively in the database, so match them back the same way
+            Map<String, ViewUserDTO> loadedByUsername = new HashMap<>();
+            for (UserEntity userEntity : load(missingIds, missingUsernames)) {
+                ViewUserDTO user = UserMapper.toDTO(UserMapper.toDomain(userEntity));
+                loadedById.put(user.id(), user);
+                loadedByUsername.put(user.username().toLowerCase(Locale.ROOT), user);
+                userCache.put(user, generation);
+            }
+
+            for (Long id : missingIds) {
+                ViewUserDTO user = loadedById.get(id);
+                if (user != null) {
+                    usersById.put(id, user);
+                }
+            }
+            for (String username : missingUsernames) {
+                ViewUserDTO user = loadedByUsername.get(username.toLowerCase(Locale.ROOT));
+                if (user != null) {
+                    usersByUsername.put(username, user);
+                    userCache.put(username, user, generation);
+                }
+            }
+        }
+        return new UserLookupResultDTO(usersById, usersByUsername);
+    }
+
+    // Immutable collections throw on contains(null), so look for it by walking the elements
+    private static boolean containsNull(Collection<?> keys) {
+        for (Object key : keys) {
+            if (key == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<UserEntity> load(List<Long> ids, List<String> usernames) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            if (usernames.isEmpty()) {
+                return userRepository.findAllByIdIn(ids);
+            }
+            if (ids.isEmpty()) {
+                return userRepository.findAllByUsernameIn(usernames);
+            }
+            return userRepository.findAllByIdInOrUsernameIn(ids, usernames);
+        });
+    }
+}
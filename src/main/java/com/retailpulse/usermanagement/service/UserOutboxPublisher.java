@@ -0,0 +1,65 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the user outbox to the configured {@link UserEventSink} in batches of
+ * {@code user.outbox.batch-size}, oldest first. A batch is deleted only after the sink accepts it;
+ * when the sink fails the batch stays in the outbox and is retried on the next poll.
+ * <p>
+ * Every instance runs this poll. Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} and
+ * published and deleted in the same transaction, so instances drain disjoint batches instead of all
+ * publishing the same one. The claim holds a connection while the sink runs.
+ */
+@Component
+public class UserOutboxPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(UserOutboxPublisher.class);
+
+    private final UserOutboxRepository userOutboxRepository;
+    private final UserEventSink userEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserOutboxPublisher(UserOutboxRepository userOutboxRepository,
+                               UserEventSink userEventSink,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${user.outbox.batch-size:100}") int batchSize) {
+        this.userOutboxRepository = userOutboxRepository;
+        this.userEventSink = userEventSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${user.outbox.poll-interval:1s}", fixedDelayString = "${user.outbox.poll-interval:1s}")
+    public void publishPending() {
+        Integer published;
+        do {
+            try {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } catch (RuntimeException e) {
+                // Rolled back, so the claimed batch is released for the next poll of any instance
+                logger.warn("Failed to publish user change events; retrying on the next poll", e);
+                return;
+            }
+        } while (published != null && published == batchSize);
+    }
+
+    private int publishBatch() {
+        List<UserChangeEvent> batch = userOutboxRepository.claimOldest(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        userEventSink.publish(batch);
+        userOutboxRepository.deleteByIds(batch.stream().map(UserChangeEvent::id).toList());
+        return batch.size();
+    }
+}
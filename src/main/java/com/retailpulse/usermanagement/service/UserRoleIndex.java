@@ -0,0 +1,233 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from role and enabled flag to user ids, one {@link BitSet} per role.
+ * <p>
+ * Filtered listings walk the matching bits from the cursor, intersecting the role and enabled sets by
+ * leapfrogging between them, so a page costs time proportional to the rows it skips and returns
+ * rather than to the table. The index is built when the application is ready, kept current by this
+ * instance's writes, and rebuilt on a schedule to pick up writes made by other instances. Rebuilds
+ * are serialized, and a request that finds the index unbuilt waits for the build in progress rather
+ * than scanning the table itself.
+ */
+@Component
+public class UserRoleIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UserRoleIndex.class);
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Snapshot snapshot;
+    // Non-null while a rebuild is reading the table; changes made meanwhile are replayed onto the new snapshot
+    private List<Change> changesDuringRebuild;
+
+    public UserRoleIndex(UserJdbcRepository userJdbcRepository) {
+        this.userJdbcRepository = userJdbcRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${user.role-index.rebuild-interval:5m}", fixedDelayString = "${user.role-index.rebuild-interval:5m}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot rebuilt = new Snapshot();
+        try {
+            userJdbcRepository.streamRoles((id, roles, enabled) -> rebuilt.put(toIndex(id), roles, enabled));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : changesDuringRebuild) {
+                change.applyTo(rebuilt);
+            }
+            changesDuringRebuild = null;
+            snapshot = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built user role index of " + rebuilt.all.cardinality() + " users");
+    }
+
+    /**
+     * Builds the index if it has not been built yet. Callers arriving while a build is running wait
+     * for it and then return without reading the table again.
+     */
+    public void ensureBuilt() {
+        if (isReady()) {
+            return;
+        }
+        synchronized (this) {
+            if (!isReady()) {
+                rebuild();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return snapshot != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long id, int roles, boolean enabled) {
+        apply(new Change(toIndex(id), roles, enabled, false));
+    }
+
+    public void remove(long id) {
+        apply(new Change(toIndex(id), 0, false, true));
+    }
+
+    /**
+     * Returns up to {@code limit} ids greater than {@code after}, in ascending order, of users that
+     * have {@code role} (any role when null) and match {@code enabled} (either when null).
+     */
+    public List<Long> findIds(Authorities role, Boolean enabled, long after, int limit) {
+        lock.readLock().lock();
+        try {
+            if (snapshot == null) {
+                throw new IllegalStateException("User role index has not been built");
+            }
+
+            // No id in the index is beyond its range, so a cursor past it is an empty page
+            if (after >= Integer.MAX_VALUE - 1) {
+                return List.of();
+            }
+
+            BitSet byRole = role == null ? null : snapshot.byRole.get(role);
+            BitSet byEnabled = enabled == null ? null : enabled ? snapshot.enabled : snapshot.disabled;
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            int start = after < 0 ? 0 : (int) after + 1;
+            for (int id = nextMatch(snapshot.all, byRole, byEnabled, start); id >= 0 && ids.size() < limit;
+                 id = nextMatch(snapshot.all, byRole, byEnabled, id + 1)) {
+                ids.add((long) id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Both filters are subsets of all, so only the ones given are walked
+    private static int nextMatch(BitSet all, BitSet byRole, BitSet byEnabled, int from) {
+        if (byRole == null) {
+            return (byEnabled == null ? all : byEnabled).nextSetBit(from);
+        }
+        return byEnabled == null ? byRole.nextSetBit(from) : nextInBoth(byRole, byEnabled, from);
+    }
+
+    // Leapfrogs between the two sets, so the walk jumps over runs that are set in only one of them
+    // instead of testing them bit by bit
+    private static int nextInBoth(BitSet first, BitSet second, int from) {
+        int id = first.nextSetBit(from);
+        while (id >= 0) {
+            int other = second.nextSetBit(id);
+            if (other == id) {
+                return id;
+            }
+            if (other < 0) {
+                return -1;
+            }
+            id = first.nextSetBit(other);
+        }
+        return -1;
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (snapshot != null) {
+                change.applyTo(snapshot);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int toIndex(long id) {
+        if (id < 0 || id >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("User id " + id + " is outside the range of the role index");
+        }
+        return (int) id;
+    }
+
+    private record Change(int id, int roles, boolean enabled, boolean removed) {
+        void applyTo(Snapshot snapshot) {
+            if (removed) {
+                snapshot.remove(id);
+            } else {
+                snapshot.put(id, roles, enabled);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<Authorities, BitSet> byRole = new EnumMap<>(Authorities.class);
+        private final BitSet enabled = new BitSet();
+        // Complement of enabled within all, kept so enabled=false listings walk only disabled users
+        private final BitSet disabled = new BitSet();
+        private final BitSet all = new BitSet();
+
+        private Snapshot() {
+            for (Authorities authority : Authorities.values()) {
+                byRole.put(authority, new BitSet());
+            }
+        }
+
+        private void put(int id, int roles, boolean isEnabled) {
+            all.set(id);
+            enabled.set(id, isEnabled);
+            disabled.set(id, !isEnabled);
+            for (Map.Entry<Authorities, BitSet> entry : byRole.entrySet()) {
+                entry.getValue().set(id, (roles & entry.getKey().getBit()) != 0);
+            }
+        }
+
+        private void remove(int id) {
+            all.clear(id);
+            enabled.clear(id);
+            disabled.clear(id);
+            for (BitSet ids : byRole.values()) {
+                ids.clear(id);
+            }
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.retailpulse.usermanagement.service;
 
+import com.retailpulse.usermanagement.config.ReadYourWritesWindow;
 import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.controller.PatchUserDTO;
 import com.retailpulse.usermanagement.controller.UpdateUserDTO;
+import com.retailpulse.usermanagement.controller.UserPageDTO;
+import com.retailpulse.usermanagement.controller.UserSearchResultDTO;
 import com.retailpulse.usermanagement.controller.ViewUserDTO;
 import com.retailpulse.usermanagement.domain.Authorities;
 import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.domain.UserChangeType;
 import com.retailpulse.usermanagement.domain.exception.InvalidPasswordException;
-import com.retailpulse.usermanagement.domain.exception.MalformedEmailException;
-import com.retailpulse.usermanagement.domain.exception.MalformedPasswordException;
 import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
 import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
 import com.retailpulse.usermanagement.repository.UserRepository;
 import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.PreconditionFailedException;
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import com.retailpulse.usermanagement.service.exception.ValidationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,100 +43,385 @@ public class UserService {
     private static final String USERNAME_EXIST = "USERNAME_EXIST";
     private static final String INVALID_FORMAT = "INVALID_FORMAT";
     private static final String INVALID_OLD_PASSWORD = "INVALID_OLD_PASSWORD";
+    private static final String VERSION_MISMATCH = "VERSION_MISMATCH";
+    // Matches innodb_ft_min_token_size for the ngram parser (ngram_token_size = 2)
+    private static final int MIN_SEARCH_LENGTH = 2;
 
     private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
     private final PasswordEncoder passwordEncoder;
-
-
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final UserCache userCache;
+    private final UserLoadCoalescer userLoadCoalescer;
+    private final UserLookupBatcher userLookupBatcher;
+    private final UserRoleIndex userRoleIndex;
+    private final UserCollectionVersion userCollectionVersion;
+    private final UsernameFilter usernameFilter;
+    private final UserOutboxRepository userOutboxRepository;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final TransactionTemplate transactionTemplate;
+    // Read-only transactions may be served by a read replica (see ReplicaRoutingDataSource)
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+
+    public UserService(UserRepository userRepository, UserJdbcRepository userJdbcRepository, PasswordEncoder passwordEncoder,
+                       UserCache userCache, UserLoadCoalescer userLoadCoalescer, UserLookupBatcher userLookupBatcher, UserRoleIndex userRoleIndex, UserCollectionVersion userCollectionVersion,
+                       UsernameFilter usernameFilter, UserOutboxRepository userOutboxRepository,
+                       ReadYourWritesWindow readYourWritesWindow, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
+        this.userJdbcRepository = userJdbcRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.userLoadCoalescer = userLoadCoalescer;
+        this.userLookupBatcher = userLookupBatcher;
+        this.userRoleIndex = userRoleIndex;
+        this.userCollectionVersion = userCollectionVersion;
+        this.usernameFilter = usernameFilter;
+        this.userOutboxRepository = userOutboxRepository;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
 
     public List<ViewUserDTO> getAllUsers() {
-        List<UserEntity> userEntities = userRepository.findAll();
-        List<User> users = userEntities.stream().map(UserMapper::toDomain).toList();
-        return users.stream().map(UserMapper::toDTO).toList();
+        return readOnly(this::findAllUsers);
+    }
+
+    public UserPageDTO getUsers(Long after, int size) {
+        return readOnly(() -> findUsers(after, size));
+    }
+
+    /**
+     * {@link #getAllUsers()} with the collection version, read in the same read-only transaction so
+     * both come from one replica and the version is never newer than the list.
+     */
+    public Versioned<List<ViewUserDTO>> getAllUsersWithVersion() {
+        return readOnly(() -> new Versioned<>(userCollectionVersion.current(), findAllUsers()));
+    }
+
+    /**
+     * {@link #getUsers(Long, int)} with the collection version, read as in {@link #getAllUsersWithVersion()}.
+     */
+    public Versioned<UserPageDTO> getUsersWithVersion(Long after, int size) {
+        return readOnly(() -> new Versioned<>(userCollectionVersion.current(), findUsers(after, size)));
+    }
+
+    private List<ViewUserDTO> findAllUsers() {
+        return userRepository.findAll().stream()
+                .map(UserMapper::toDomain)
+                .map(UserMapper::toDTO)
+                .toList();
+    }
+
+    private UserPageDTO findUsers(Long after, int size) {
+        // Fetch one extra row so we know whether another page exists without a COUNT query
+        List<UserEntity> userEntities = userRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        boolean hasNext = userEntities.size() > size;
+        List<ViewUserDTO> users = userEntities.stream()
+                .limit(size)
+                .map(UserMapper::toDomain)
+                .map(UserMapper::toDTO)
+                .toList();
+        Long next = hasNext ? users.get(users.size() - 1).id() : null;
+        return new UserPageDTO(users, next);
+    }
+
+    /**
+     * Keyset page of users with {@code role} (any when null) and the given enabled flag (either when
+     * null), served from {@link UserRoleIndex}.
+     */
+    public UserPageDTO getUsersByRole(String role, Boolean enabled, Long after, int size) {
+        Authorities authority;
+        try {
+            authority = role == null ? null : Authorities.fromString(role);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(INVALID_FORMAT, "Unknown role " + role + ". Failed to list users.");
+        }
+
+        userRoleIndex.ensureBuilt();
+
+        // One extra id tells us whether a further page exists
+        List<Long> ids = userRoleIndex.findIds(authority, enabled, after == null ? 0L : after, size + 1);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        if (pageIds.isEmpty()) {
+            return new UserPageDTO(List.of(), null);
+        }
+
+        // Rows are checked again because another instance may have changed them since the last rebuild
+        Map<Long, UserEntity> userEntities = readOnly(() -> userRepository.findAllByIdIn(pageIds)).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        List<ViewUserDTO> users = pageIds.stream()
+                .map(userEntities::get)
+                .filter(Objects::nonNull)
+                .filter(entity -> authority == null || (entity.getRoles() & authority.getBit()) != 0)
+                .filter(entity -> enabled == null || entity.isEnabled() == enabled)
+                .map(UserMapper::toDomain)
+                .map(UserMapper::toDTO)
+                .toList();
+        return new UserPageDTO(users, hasNext ? pageIds.get(pageIds.size() - 1) : null);
+    }
+
+    public long getCollectionVersion() {
+        return userCollectionVersion.current();
+    }
+
+    public Optional<Long> getUserVersionById(Long id) {
+        ViewUserDTO cachedUser = userCache.getById(id);
+        if (cachedUser != null) {
+            return Optional.ofNullable(cachedUser.version());
+        }
+        return readOnly(() -> userRepository.findVersionById(id));
+    }
+
+    public Optional<Long> getUserVersionByUsername(String username) {
+        ViewUserDTO cachedUser = userCache.getByUsername(username);
+        if (cachedUser != null) {
+            return Optional.ofNullable(cachedUser.version());
+        }
+        return readOnly(() -> userRepository.findVersionByUsername(username));
     }
 
     public Optional<ViewUserDTO> getUserById(Long id) {
-        Optional<UserEntity> userEntityOptional = userRepository.findById(id);
-        return userEntityOptional.map(UserMapper::toDomain).map(UserMapper::toDTO);
+        ViewUserDTO cachedUser = userCache.getById(id);
+        if (cachedUser != null) {
+            return Optional.of(cachedUser);
+        }
+
+        // Concurrent misses for the same id share this load and its mapped result
+        return userLoadCoalescer.loadById(id, () -> {
+            // Captured before the read so a write that commits meanwhile keeps this result out of the cache
+            long generation = userCache.generation();
+            Optional<UserEntity> userEntityOptional = userLookupBatcher.isEnabled()
+                    ? userLookupBatcher.findById(id)
+                    : readOnly(() -> userRepository.findById(id));
+            Optional<ViewUserDTO> user = userEntityOptional.map(UserMapper::toDomain).map(UserMapper::toDTO);
+            user.ifPresent(dto -> userCache.put(dto, generation));
+            return user;
+        });
     }
 
     public Optional<ViewUserDTO> getUserByUsername(String username) {
-        Optional<UserEntity> userEntityOptional = userRepository.findByUsername(username);
-        return userEntityOptional.map(UserMapper::toDomain).map(UserMapper::toDTO);
+        ViewUserDTO cachedUser = userCache.getByUsername(username);
+        if (cachedUser != null) {
+            return Optional.of(cachedUser);
+        }
+
+        return userLoadCoalescer.loadByUsername(username, () -> {
+            long generation = userCache.generation();
+            Optional<UserEntity> userEntityOptional = userLookupBatcher.isEnabled()
+                    ? userLookupBatcher.findByUsername(username)
+                    : readOnly(() -> userRepository.findByUsername(username));
+            Optional<ViewUserDTO> user = userEntityOptional.map(UserMapper::toDomain).map(UserMapper::toDTO);
+            user.ifPresent(dto -> userCache.put(username, dto, generation));
+            return user;
+        });
+    }
+
+    public UserSearchResultDTO searchUsers(String query, int page, int size) {
+        String phrase = toSearchPhrase(query);
+        if (phrase == null) {
+            throw new BusinessException(INVALID_FORMAT, "Search query must contain at least " + MIN_SEARCH_LENGTH + " characters.");
+        }
+
+        // Both queries run in one read-only transaction so they see the same replica
+        return readOnly(() -> {
+            // One extra id tells us whether a further page exists
+            List<Long> ids = userRepository.searchIds(phrase, size + 1, page * size);
+            boolean hasMore = ids.size() > size;
+            List<Long> pageIds = hasMore ? ids.subList(0, size) : ids;
+            if (pageIds.isEmpty()) {
+                return new UserSearchResultDTO(List.of(), page, size, false);
+            }
+
+            Map<Long, UserEntity> userEntities = userRepository.findAllByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+            List<ViewUserDTO> users = pageIds.stream()
+                    .map(userEntities::get)
+                    .filter(Objects::nonNull)
+                    .map(UserMapper::toDomain)
+                    .map(UserMapper::toDTO)
+                    .toList();
+            return new UserSearchResultDTO(users, page, size, hasMore);
+        });
     }
 
-    public Optional<ViewUserDTO> getUserByName(String name) {
-        Optional<UserEntity> userEntityOptional = userRepository.findByNameContaining(name);
-        return userEntityOptional.map(UserMapper::toDomain).map(UserMapper::toDTO);
+    private <T> T readOnly(Supplier<T> query) {
+        return readOnlyTransactionTemplate.execute(status -> query.get());
+    }
+
+    // Wraps the query in quotes so boolean mode matches it as a phrase (a substring search) and
+    // treats operator characters such as '-' or '@' literally
+    private static String toSearchPhrase(String query) {
+        if (query == null) {
+            return null;
+        }
+        String cleaned = query.replace('"', ' ').trim();
+        return cleaned.length() < MIN_SEARCH_LENGTH ? null : "\"" + cleaned + "\"";
+    }
+
+    /**
+     * Returns whether no user has this username, ignoring case. Usernames the filter has never seen
+     * are answered without a query.
+     */
+    public boolean isUsernameAvailable(String username) {
+        return !usernameFilter.mightContain(username) || !userRepository.existsByUsername(username);
     }
 
     public ViewUserDTO createUser(CreateUserDTO createUserDTO) {
+        // Checked before the username query so malformed requests cost nothing
+        ValidationException.throwIfAny(INVALID_FORMAT, UserValidator.validate(createUserDTO), "Failed to create user.");
 
-        if (userRepository.existsByUsername(createUserDTO.username())) {
+        if (!isUsernameAvailable(createUserDTO.username())) {
             throw new BusinessException(USERNAME_EXIST, "Username already exist. Failed to create user.");
         }
 
-        try {
-            PasswordValidator.isValid(createUserDTO.password());
-        } catch (MalformedPasswordException e) {
-          throw new BusinessException(INVALID_FORMAT, e.getMessage() + " Failed to create user.");
-        }
+        User user = new User.Builder(createUserDTO.username())
+                .password(passwordEncoder.hashPassword(createUserDTO.password()))
+                .name(createUserDTO.name())
+                .email(createUserDTO.email())
+                .authorities(toAuthorities(createUserDTO.roles() == null ? List.of() : createUserDTO.roles()))
+                .trusted()
+                .build();
 
-        User user;
-        try {
-            user = new User.Builder(createUserDTO.username())
-                    .password(passwordEncoder.hashPassword(createUserDTO.password()))
-                    .name(createUserDTO.name())
-                    .email(createUserDTO.email())
-                    .authorities(createUserDTO.roles().stream().map(Authorities::valueOf).collect(Collectors.toSet())).build();
-        } catch (MalformedEmailException e) {
-            throw new BusinessException(INVALID_FORMAT, e.getMessage() + " Failed to create user.");
-        }
-        
         UserEntity userEntity = UserMapper.toEntity(user);
 
-        UserEntity savedUserEntity = userRepository.save(userEntity);
+        // Hashing is done above so the transaction does not hold a connection while BCrypt runs
+        UserEntity savedUserEntity;
+        try {
+            savedUserEntity = transactionTemplate.execute(status -> {
+                UserEntity saved = userRepository.save(userEntity);
+                userJdbcRepository.updateAuthorities(saved.getUsername(), user.getAuthorities(), Set.of());
+                userOutboxRepository.append(UserChangeType.CREATED, saved.getId(), saved.getUsername());
+                userCollectionVersion.increment();
+                readYourWritesWindow.markWrite();
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Only the username is unique on a new row, so a duplicate key means another request created
+            // the same username after the availability check. Other integrity violations are left to the caller.
+            if (!DuplicateKeys.isDuplicateKey(e)) {
+                throw e;
+            }
+            usernameFilter.add(createUserDTO.username());
+            throw new BusinessException(USERNAME_EXIST, "Username already exist. Failed to create user.");
+        }
+        usernameFilter.add(savedUserEntity.getUsername());
+        userCache.invalidateUsername(savedUserEntity.getUsername());
+        userLoadCoalescer.forgetUsername(savedUserEntity.getUsername());
+        userRoleIndex.put(savedUserEntity.getId(), savedUserEntity.getRoles(), savedUserEntity.isEnabled());
 
         return UserMapper.toDTO(UserMapper.toDomain(savedUserEntity));
     }
 
     public ViewUserDTO updateUser(Long id, UpdateUserDTO updateUserDTO) {
-        Optional<UserEntity> userEntityOptional = userRepository.findById(id);
-
-        if (userEntityOptional.isEmpty()) {
-            throw new BusinessException(USER_NOT_FOUND, "User not found. Failed to update user.");
-        }
+        return updateUser(id, updateUserDTO, null);
+    }
 
-        User user = UserMapper.toDomain(userEntityOptional.get());
+    /**
+     * Replaces the user's name, email, roles and enabled flag, only if it is still at
+     * {@code expectedVersion} (any version when null).
+     */
+    public ViewUserDTO updateUser(Long id, UpdateUserDTO updateUserDTO, Long expectedVersion) {
+        ValidationException.throwIfAny(INVALID_FORMAT, UserValidator.validate(updateUserDTO), "Failed to update user.");
+        return applyChanges(id, expectedVersion, user -> {
+            user.updateName(updateUserDTO.name());
+            user.updateTrustedEmail(updateUserDTO.email());
+            user.updateRoles(toAuthorities(updateUserDTO.roles() == null ? List.of() : updateUserDTO.roles()));
+            user.updateEnabled(updateUserDTO.isEnabled());
+        });
+    }
 
-        user.updateName(updateUserDTO.name());
+    /**
+     * Changes only the fields present in the patch, only if the user is still at
+     * {@code expectedVersion} (any version when null).
+     */
+    public ViewUserDTO patchUser(Long id, PatchUserDTO patchUserDTO, Long expectedVersion) {
+        ValidationException.throwIfAny(INVALID_FORMAT, UserValidator.validate(patchUserDTO), "Failed to update user.");
+        return applyChanges(id, expectedVersion, user -> {
+            if (patchUserDTO.name() != null) {
+                user.updateName(patchUserDTO.name());
+            }
+            if (patchUserDTO.email() != null) {
+                user.updateTrustedEmail(patchUserDTO.email());
+            }
+            if (patchUserDTO.roles() != null) {
+                user.updateRoles(toAuthorities(patchUserDTO.roles()));
+            }
+            if (patchUserDTO.isEnabled() != null) {
+                user.updateEnabled(patchUserDTO.isEnabled());
+            }
+        });
+    }
 
+    private ViewUserDTO applyChanges(Long id, Long expectedVersion, Consumer<User> changes) {
+        AppliedChange applied;
         try {
-            user.updateEmail(updateUserDTO.email());
-        } catch (MalformedEmailException e) {
-            throw new BusinessException(INVALID_FORMAT, e.getMessage() + " Failed to update user.");
+            applied = transactionTemplate.execute(status -> {
+                UserEntity entity = userRepository.findById(id)
+                        .orElseThrow(() -> new BusinessException(USER_NOT_FOUND, "User not found. Failed to update user."));
+                if (expectedVersion != null && entity.getVersion() != expectedVersion) {
+                    throw new PreconditionFailedException(VERSION_MISMATCH, "User was changed by another request. Failed to update user.");
+                }
+
+                User user = UserMapper.toDomain(entity);
+                changes.accept(user);
+
+                int previousRoles = entity.getRoles();
+                int roles = Authorities.toMask(user.getAuthorities());
+                if (Objects.equals(entity.getName(), user.getName()) && Objects.equals(entity.getEmail(), user.getEmail())
+                        && entity.isEnabled() == user.getEnabled() && previousRoles == roles) {
+                    // Nothing to write: no UPDATE, no version bump, cached copies stay valid
+                    return new AppliedChange(entity, false);
+                }
+
+                // The entity carries the version it was read at, so a concurrent update fails the flush
+                UserEntity saved = userRepository.save(UserMapper.toEntity(user, entity));
+                if (roles != previousRoles) {
+                    userJdbcRepository.updateAuthorities(saved.getUsername(),
+                            Authorities.fromMask(roles & ~previousRoles), Authorities.fromMask(previousRoles & ~roles));
+                }
+                userOutboxRepository.append(UserChangeType.UPDATED, id, saved.getUsername());
+                userCollectionVersion.increment();
+                readYourWritesWindow.markWrite();
+                return new AppliedChange(saved, true);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // The write that won the race detaches its own in-flight loads
+            userCache.invalidate(id);
+            throw new PreconditionFailedException(VERSION_MISMATCH, "User was changed by another request. Failed to update user.");
         }
 
-        user.updateRoles(updateUserDTO.roles().stream().map(Authorities::valueOf).collect(Collectors.toSet()));
-
-        user.updateEnabled(updateUserDTO.isEnabled());
+        UserEntity entity = applied.entity();
+        if (applied.changed()) {
+            evict(id, entity.getUsername());
+            userRoleIndex.put(id, entity.getRoles(), entity.isEnabled());
+        }
+        // Mapped after commit so the DTO carries the version Hibernate bumped on flush
+        return UserMapper.toDTO(UserMapper.toDomain(entity));
+    }
 
-        UserEntity updatedUserEntity = userRepository.save(UserMapper.toEntity(user, userEntityOptional.get()));
+    private static Set<Authorities> toAuthorities(List<String> roles) {
+        return roles.stream().map(Authorities::valueOf).collect(Collectors.toSet());
+    }
 
-        return UserMapper.toDTO(UserMapper.toDomain(updatedUserEntity));
+    private record AppliedChange(UserEntity entity, boolean changed) {
     }
 
     public void deleteUser(Long id) {
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-        } else {
-            throw new BusinessException(USER_NOT_FOUND, "User not found. Failed to delete user..");
-        }
+        String username = transactionTemplate.execute(status -> {
+            // Loaded rather than checked for existence so the event can carry the username
+            UserEntity userEntity = userRepository.findById(id)
+                    .orElseThrow(() -> new BusinessException(USER_NOT_FOUND, "User not found. Failed to delete user.."));
+            userRepository.delete(userEntity);
+            userOutboxRepository.append(UserChangeType.DELETED, id, userEntity.getUsername());
+            userCollectionVersion.increment();
+            readYourWritesWindow.markWrite();
+            return userEntity.getUsername();
+        });
+        evict(id, username);
+        userRoleIndex.remove(id);
     }
 
     public void changePassword(Long id, String oldPassword, String newPassword) {
@@ -137,17 +441,63 @@ public class UserService {
             throw new BusinessException(INVALID_OLD_PASSWORD, "Wrong Old Password. Failed to change password.");
         }
 
-        try {
-            PasswordValidator.isValid(newPassword);
-        } catch (MalformedPasswordException e) {
-            throw new BusinessException(INVALID_FORMAT, e.getMessage() + "Failed to change password.");
+        if (!UserValidator.isWellFormedPassword(newPassword)) {
+            upgradePasswordHash(userEntity, oldPassword);
+            throw new ValidationException(INVALID_FORMAT, UserValidator.PASSWORD_RULE + " Failed to change password.",
+                    List.of(new FieldErrorDTO("newPassword", UserValidator.PASSWORD_RULE)));
         }
 
+        // Written with the current algorithm and work factor, so this also upgrades an outdated hash
         user.changePassword(passwordEncoder.hashPassword(newPassword));
 
-        userEntity.setPassword(user.getPassword());
+        // Hashing is done above so the transaction does not hold a connection while it runs. The row is
+        // read again inside it, so an edit of other fields in the meantime does not fail the write, but a
+        // password that changed after it was verified does.
+        String verifiedHash = userEntity.getPassword();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                UserEntity currentEntity = userRepository.findById(id)
+                        .orElseThrow(() -> new BusinessException(USER_NOT_FOUND, "User not found. Failed to change password."));
+                if (!Objects.equals(currentEntity.getPassword(), verifiedHash)) {
+                    throw new PreconditionFailedException(VERSION_MISMATCH, "Password was changed by another request. Failed to change password.");
+                }
+                currentEntity.setPassword(user.getPassword());
+                userRepository.save(currentEntity);
+                userOutboxRepository.append(UserChangeType.PASSWORD_CHANGED, id, currentEntity.getUsername());
+                userCollectionVersion.increment();
+                readYourWritesWindow.markWrite();
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another write committed between the read and the flush above
+            userCache.invalidate(id);
+            throw new PreconditionFailedException(VERSION_MISMATCH, "User was changed by another request. Failed to change password.");
+        }
+        evict(id, userEntity.getUsername());
+    }
 
-        userRepository.save(userEntity);
+    /**
+     * Replaces an outdated stored hash of a password that was just verified, since the raw password is
+     * only known at moments like this. Nothing a client can see changes, so the user and collection
+     * versions stay as they are and no change event is published. Best effort: when the hashing pool
+     * is busy, or the hash changed since it was verified, it waits for next time.
+     */
+    private void upgradePasswordHash(UserEntity userEntity, String rawPassword) {
+        if (!passwordEncoder.needsRehash(userEntity.getPassword())) {
+            return;
+        }
+        String hash;
+        try {
+            hash = passwordEncoder.hashPassword(rawPassword);
+        } catch (ServiceOverloadedException e) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.replacePasswordHash(userEntity.getId(), userEntity.getPassword(), hash));
+    }
 
+    // Drops the cached copy and detaches loads already in flight, so later reads see this write
+    private void evict(Long id, String username) {
+        userCache.invalidate(id);
+        userLoadCoalescer.forget(id, username);
     }
 }
@@ -0,0 +1,108 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.controller.PatchUserDTO;
+import com.retailpulse.usermanagement.controller.UpdateUserDTO;
+import com.retailpulse.usermanagement.domain.Authorities;
+import org.apache.commons.validator.routines.EmailValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks incoming user DTOs in one pass and reports every invalid field together. The error list is
+ * only created once a first error is found, and passwords and roles are checked without allocating;
+ * the email check, which relies on commons-validator's regexes, is the one remaining cost. Users
+ * loaded from the database are not passed through here; they were validated when written.
+ *
+ * <p>Stateless, so any batch ingestion can call it row by row.
+ */
+public final class UserValidator {
+    public static final String PASSWORD_RULE = "Password must contain at least 8 characters, one letter and one number.";
+
+    // Matches the users.username column, VARCHAR(45)
+    private static final int MAX_USERNAME_LENGTH = 45;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final String PASSWORD_SYMBOLS = "@$!%*?&";
+    private static final EmailValidator EMAIL_VALIDATOR = EmailValidator.getInstance();
+
+    private UserValidator() {
+    }
+
+    public static List<FieldErrorDTO> validate(CreateUserDTO user) {
+        List<FieldErrorDTO> errors = null;
+        if (user.username() == null || user.username().isBlank()) {
+            errors = add(errors, "username", "Username is required.");
+        } else if (user.username().length() > MAX_USERNAME_LENGTH) {
+            errors = add(errors, "username", "Username must be at most " + MAX_USERNAME_LENGTH + " characters.");
+        }
+        if (!isWellFormedPassword(user.password())) {
+            errors = add(errors, "password", PASSWORD_RULE);
+        }
+        errors = checkEmail(errors, user.email());
+        errors = checkRoles(errors, user.roles());
+        return errors == null ? List.of() : errors;
+    }
+
+    public static List<FieldErrorDTO> validate(UpdateUserDTO user) {
+        List<FieldErrorDTO> errors = checkEmail(null, user.email());
+        errors = checkRoles(errors, user.roles());
+        return errors == null ? List.of() : errors;
+    }
+
+    // Absent fields are left unchanged by a patch, so only present ones are checked
+    public static List<FieldErrorDTO> validate(PatchUserDTO user) {
+        List<FieldErrorDTO> errors = checkEmail(null, user.email());
+        errors = checkRoles(errors, user.roles());
+        return errors == null ? List.of() : errors;
+    }
+
+    /**
+     * At least {@value #MIN_PASSWORD_LENGTH} characters from ASCII letters, digits and
+     * {@value #PASSWORD_SYMBOLS}, with at least one letter and one digit.
+     */
+    public static boolean isWellFormedPassword(String password) {
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            return false;
+        }
+        boolean letter = false;
+        boolean digit = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                letter = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (PASSWORD_SYMBOLS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return letter && digit;
+    }
+
+    private static List<FieldErrorDTO> checkEmail(List<FieldErrorDTO> errors, String email) {
+        if (email != null && !EMAIL_VALIDATOR.isValid(email)) {
+            return add(errors, "email", "Invalid email format: " + email + ".");
+        }
+        return errors;
+    }
+
+    private static List<FieldErrorDTO> checkRoles(List<FieldErrorDTO> errors, List<String> roles) {
+        if (roles == null) {
+            return errors;
+        }
+        for (String role : roles) {
+            if (!Authorities.isKnown(role)) {
+                errors = add(errors, "roles", "Unknown role " + role + ".");
+            }
+        }
+        return errors;
+    }
+
+    private static List<FieldErrorDTO> add(List<FieldErrorDTO> errors, String field, String message) {
+        List<FieldErrorDTO> list = errors == null ? new ArrayList<>(4) : errors;
+        list.add(new FieldErrorDTO(field, message));
+        return list;
+    }
+}
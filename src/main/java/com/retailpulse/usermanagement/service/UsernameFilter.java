@@ -0,0 +1,157 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over all usernames, lowercased to match the case-insensitive unique index.
+ * <p>
+ * A negative answer means the username is definitely free, so availability checks and creates can
+ * skip the database; a positive answer may be false and must be confirmed with a query. Bits are
+ * set with compare-and-set, so readers and writers never block each other.
+ * <p>
+ * Bits cannot be cleared, so deleted usernames stay positive until the next rebuild. Rebuilds also
+ * pick up usernames created by other instances; until then a create that races past the filter is
+ * still stopped by the unique index.
+ */
+@Component
+public class UsernameFilter {
+    private static final Logger logger = LoggerFactory.getLogger(UsernameFilter.class);
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final int bitCount;
+    private final int hashCount;
+
+    // Null until the first build; every username is then a possible match
+    private volatile Bits bits;
+    // Non-null while a rebuild is reading the table, so usernames added meanwhile land in both filters
+    private volatile Bits rebuilding;
+
+    public UsernameFilter(UserJdbcRepository userJdbcRepository,
+                          @Value("${user.username-filter.expected-usernames:1000000}") long expectedUsernames,
+                          @Value("${user.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userJdbcRepository = userJdbcRepository;
+        long optimalBits = (long) Math.ceil(-expectedUsernames * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(Long.SIZE, Math.min(optimalBits, Integer.MAX_VALUE - Long.SIZE));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsernames * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${user.username-filter.rebuild-interval:1h}", fixedDelayString = "${user.username-filter.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        Bits rebuilt = new Bits(bitCount);
+        rebuilding = rebuilt;
+        long[] count = new long[1];
+        try {
+            userJdbcRepository.streamUsernames(username -> {
+                rebuilt.add(username, hashCount);
+                count[0]++;
+            });
+        } catch (RuntimeException e) {
+            rebuilding = null;
+            throw e;
+        }
+        // Swapped in before the rebuild is cleared, so an add that sees no rebuild sees the new filter
+        bits = rebuilt;
+        rebuilding = null;
+        logger.info("Built username filter of " + count[0] + " usernames");
+    }
+
+    public boolean isReady() {
+        return bits != null;
+    }
+
+    public void add(String username) {
+        if (username == null) {
+            return;
+        }
+        Bits next = rebuilding;
+        if (next != null) {
+            next.add(username, hashCount);
+        }
+        Bits current = bits;
+        if (current != null) {
+            current.add(username, hashCount);
+        }
+    }
+
+    /**
+     * Returns false only if no user has this username, ignoring case.
+     */
+    public boolean mightContain(String username) {
+        Bits current = bits;
+        return current == null || username == null || current.mightContain(username, hashCount);
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+
+        private Bits(int bitCount) {
+            this.words = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+            this.size = (long) words.length() * Long.SIZE;
+        }
+
+        private void add(String username, int hashCount) {
+            long hash = hash(username);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = index(h1 + i * h2);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+            }
+        }
+
+        private boolean mightContain(String username, int hashCount) {
+            long hash = hash(username);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = index(h1 + i * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(int combinedHash) {
+            return (combinedHash & Integer.MAX_VALUE) % size;
+        }
+
+        // 64-bit FNV-1a of the lowercased UTF-8 bytes, finished with the MurmurHash3 mixer so both
+        // halves are usable as independent hashes for double hashing
+        private static long hash(String username) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9f53a4de80dL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
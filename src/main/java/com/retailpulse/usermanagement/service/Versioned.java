@@ -0,0 +1,7 @@
+package com.retailpulse.usermanagement.service;
+
+/**
+ * A result together with the collection version it was read at, both from the same transaction.
+ */
+public record Versioned<T>(long version, T content) {
+}
@@ -0,0 +1,12 @@
+package com.retailpulse.usermanagement.service.exception;
+
+/**
+ * Raised when a conditional write names a version of the resource that is no longer current.
+ * Mapped to 412 so callers know to re-read the resource before retrying.
+ */
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(String errorCode, String message) {
+        super(errorCode, message);
+    }
+}
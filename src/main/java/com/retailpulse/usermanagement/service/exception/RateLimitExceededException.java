@@ -0,0 +1,19 @@
+package com.retailpulse.usermanagement.service.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Raised when a caller has used up its allowance for an operation. Mapped to 429 with a Retry-After
+ * header telling the caller when the next attempt will be admitted.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String errorCode, String message, Duration retryAfter) {
+        super(errorCode, message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,12 @@
+package com.retailpulse.usermanagement.service.exception;
+
+/**
+ * Raised when a bounded resource is saturated and the request is rejected instead of queued.
+ * Mapped to 503 so callers know to retry rather than fix their input.
+ */
+public class ServiceOverloadedException extends BusinessException {
+
+    public ServiceOverloadedException(String errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.retailpulse.usermanagement.service.exception;
+
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A request that failed validation, carrying every field error found rather than only the first.
+ */
+@Getter
+public class ValidationException extends BusinessException {
+    private final List<FieldErrorDTO> errors;
+
+    public ValidationException(String errorCode, String message, List<FieldErrorDTO> errors) {
+        super(errorCode, message);
+        this.errors = errors;
+    }
+
+    /**
+     * Throws when {@code errors} is not empty, with a message listing each error followed by
+     * {@code failure}.
+     */
+    public static void throwIfAny(String errorCode, List<FieldErrorDTO> errors, String failure) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        for (FieldErrorDTO error : errors) {
+            message.append(error.message()).append(' ');
+        }
+        throw new ValidationException(errorCode, message.append(failure).toString(), errors);
+    }
+}
@@ -0,0 +1,77 @@
+package com.retailpulse.usermanagement.config;
+
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void testRejectsRequestsBeyondLimit() throws Exception {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10));
+        MockHttpServletRequest first = new MockHttpServletRequest();
+
+        assertTrue(interceptor.preHandle(first, response, null));
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals("SERVER_BUSY", exception.getErrorCode());
+        assertEquals(1, interceptor.inFlight());
+    }
+
+    @Test
+    void testReleasesPermitOnceOnCompletion() throws Exception {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, interceptor.inFlight());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(1, interceptor.inFlight());
+    }
+
+    @Test
+    void testAsyncRequestHoldsItsPermitUntilTheAsyncDispatchCompletes() throws Exception {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+
+        interceptor.preHandle(request, response, null);
+        request.startAsync();
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertEquals(1, interceptor.inFlight());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(1, interceptor.inFlight());
+        interceptor.afterCompletion(request, response, null, null);
+        request.getAsyncContext().complete();
+
+        assertEquals(0, interceptor.inFlight());
+    }
+
+    @Test
+    void testAsyncPermitIsReleasedWhenTheAsyncCycleEndsWithoutADispatch() throws Exception {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+
+        interceptor.preHandle(request, response, null);
+        request.startAsync();
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        request.getAsyncContext().complete();
+
+        assertEquals(0, interceptor.inFlight());
+    }
+}
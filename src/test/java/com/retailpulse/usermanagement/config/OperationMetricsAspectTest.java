@@ -0,0 +1,64 @@
+package com.retailpulse.usermanagement.config;
+
+import com.retailpulse.usermanagement.service.UserService;
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OperationMetricsAspectTest {
+
+    @Mock
+    private UserService userService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserService proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(userService);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OperationMetricsAspect(meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void testRecordsSuccessOutcome() {
+        when(userService.getAllUsers()).thenReturn(List.of());
+
+        proxy.getAllUsers();
+
+        Timer timer = meterRegistry.find(OperationMetricsAspect.SERVICE_TIMER)
+                .tags("method", "getAllUsers", "outcome", OperationMetricsAspect.SUCCESS)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testRecordsBusinessErrorCodeAsOutcome() {
+        doThrow(new BusinessException("USER_NOT_FOUND", "User not found")).when(userService).deleteUser(1L);
+
+        assertThrows(BusinessException.class, () -> proxy.deleteUser(1L));
+
+        Timer timer = meterRegistry.find(OperationMetricsAspect.SERVICE_TIMER)
+                .tags("method", "deleteUser", "outcome", "USER_NOT_FOUND")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,75 @@
+package com.retailpulse.usermanagement.config;
+
+import com.retailpulse.usermanagement.service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordRateLimitInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static MockHttpServletRequest changePassword(String id, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/users/" + id + "/change-password");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    @Test
+    void testRejectsRepeatedAttemptsOnOneUserFromManyClients() {
+        PasswordRateLimitInterceptor interceptor = new PasswordRateLimitInterceptor(
+                new TokenBucketLimiter(2, Duration.ofMinutes(1), 1000),
+                new TokenBucketLimiter(100, Duration.ofSeconds(1), 1000),
+                meterRegistry);
+
+        assertTrue(interceptor.preHandle(changePassword("7", "10.0.0.1"), response, null));
+        assertTrue(interceptor.preHandle(changePassword("7", "10.0.0.2"), response, null));
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(changePassword("7", "10.0.0.3"), response, null));
+        assertEquals("TOO_MANY_PASSWORD_ATTEMPTS", exception.getErrorCode());
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofMinutes(1)) <= 0);
+        assertTrue(interceptor.preHandle(changePassword("8", "10.0.0.3"), response, null));
+        assertEquals(1, meterRegistry.get("user.rate.limit.rejected").tag("limit", "user").counter().count());
+    }
+
+    @Test
+    void testRejectsOneClientSprayingManyUsers() {
+        PasswordRateLimitInterceptor interceptor = new PasswordRateLimitInterceptor(
+                new TokenBucketLimiter(100, Duration.ofSeconds(1), 1000),
+                new TokenBucketLimiter(2, Duration.ofMinutes(1), 1000),
+                meterRegistry);
+
+        assertTrue(interceptor.preHandle(changePassword("1", "10.0.0.1"), response, null));
+        assertTrue(interceptor.preHandle(changePassword("2", "10.0.0.1"), response, null));
+
+        assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(changePassword("3", "10.0.0.1"), response, null));
+        assertTrue(interceptor.preHandle(changePassword("3", "10.0.0.2"), response, null));
+        assertEquals(1, meterRegistry.get("user.rate.limit.rejected").tag("limit", "client").counter().count());
+    }
+
+    @Test
+    void testRequestRefusedForTheUserSpendsNoClientToken() {
+        PasswordRateLimitInterceptor interceptor = new PasswordRateLimitInterceptor(
+                new TokenBucketLimiter(1, Duration.ofMinutes(1), 1000),
+                new TokenBucketLimiter(2, Duration.ofMinutes(1), 1000),
+                meterRegistry);
+
+        assertTrue(interceptor.preHandle(changePassword("7", "10.0.0.1"), response, null));
+        assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(changePassword("7", "10.0.0.1"), response, null));
+
+        assertTrue(interceptor.preHandle(changePassword("8", "10.0.0.1"), response, null));
+        assertEquals(0, meterRegistry.get("user.rate.limit.rejected").tag("limit", "client").counter().count());
+    }
+}
@@ -0,0 +1,126 @@
+package com.retailpulse.usermanagement.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesWindow readYourWritesWindow;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private static HikariDataSource embedded(String name) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        config.setPoolName(name);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        jdbcTemplate.execute("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private void route(Duration window) {
+        readYourWritesWindow = new ReadYourWritesWindow(window);
+        routingDataSource = new ReplicaRoutingDataSource(embedded("primary"), List.of(embedded("replica-0")), readYourWritesWindow);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private String markerIn(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> marker());
+    }
+
+    @BeforeEach
+    void setUp() {
+        route(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.close();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        assertThat(markerIn(readOnly)).isEqualTo("replica-0");
+        assertThat(markerIn(readWrite)).isEqualTo("primary");
+        // Outside a transaction nothing marks the work as read-only
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void testReadsStayOnPrimaryDuringReadYourWritesWindow() {
+        routingDataSource.close();
+        route(Duration.ofMinutes(1));
+
+        assertThat(markerIn(readOnly)).isEqualTo("replica-0");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO marker (name) VALUES ('written')");
+            readYourWritesWindow.markWrite();
+        });
+
+        Integer rows = readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM marker", Integer.class));
+        assertThat(rows).isEqualTo(2);
+    }
+
+    @Test
+    void testReadWriteTransactionWithoutUserWriteKeepsReadsOnReplica() {
+        routingDataSource.close();
+        route(Duration.ofMinutes(1));
+
+        assertThat(markerIn(readOnly)).isEqualTo("replica-0");
+        // Background work such as the outbox poll runs read-write but writes no users
+        assertThat(markerIn(readWrite)).isEqualTo("primary");
+
+        assertThat(markerIn(readOnly)).isEqualTo("replica-0");
+    }
+
+    @Test
+    void testConfigBuildsReplicaPoolsFromPrimarySettings() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReadReplicaConfig.class)
+                .withBean(ReadYourWritesWindow.class, () -> new ReadYourWritesWindow(Duration.ofSeconds(2)))
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:h2:mem:config-primary",
+                        "spring.datasource.hikari.maximum-pool-size=3",
+                        "user.datasource.read-replicas.enabled=true",
+                        "user.datasource.replicas[0].url=jdbc:h2:mem:config-replica")
+                .run(context -> {
+                    assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    HikariDataSource replica = (HikariDataSource) context.getBean(ReplicaRoutingDataSource.class)
+                            .getResolvedDataSources().get("replica-0");
+                    assertThat(replica.getJdbcUrl()).isEqualTo("jdbc:h2:mem:config-replica");
+                    assertThat(replica.getMaximumPoolSize()).isEqualTo(3);
+                    assertThat(replica.isReadOnly()).isTrue();
+                });
+    }
+}
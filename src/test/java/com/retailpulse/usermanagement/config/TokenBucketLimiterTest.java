@@ -0,0 +1,124 @@
+package com.retailpulse.usermanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenOneTokenPerInterval() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(10), 1000, now::get);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(10));
+
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(6));
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void waitTimeTakesNothingAndRefundGivesATokenBack() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(10), 1000, now::get);
+
+        assertThat(limiter.waitTime("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.waitTime("alice")).isEqualTo(Duration.ofSeconds(10));
+        assertThat(limiter.waitTime("alice")).isEqualTo(Duration.ofSeconds(10));
+
+        limiter.refund("alice");
+        assertThat(limiter.waitTime("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(10), 1000, now::get);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void evictsOnlyRefilledBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(10), 1000, now::get);
+        limiter.tryAcquire("alice");
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        limiter.tryAcquire("bob");
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesNewKeysWhileEveryTrackedKeyIsActive() {
+        // 64 stripes with one key each
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(10), 64, now::get);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("caller-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(64);
+        long refused = 0;
+        for (int i = 10_000; i < 10_100; i++) {
+            if (!limiter.tryAcquire("caller-" + i).isZero()) {
+                refused++;
+            }
+        }
+        assertThat(refused).isPositive();
+
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+        assertThat(limiter.tryAcquire("caller-10000")).isZero();
+    }
+
+    @Test
+    void grantsExactlyTheCapacityUnderContention() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(50, Duration.ofHours(1), 1000);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("alice").isZero()) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        executor.shutdown();
+
+        assertThat(granted).isEqualTo(50);
+    }
+}
@@ -1,10 +1,17 @@
 package com.retailpulse.usermanagement.controller;
 
 import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.PreconditionFailedException;
+import com.retailpulse.usermanagement.service.exception.RateLimitExceededException;
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import com.retailpulse.usermanagement.service.exception.ValidationException;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,4 +32,48 @@ class GlobalExceptionHandlerTest {
         assertThat("Test message").isEqualTo(response.getBody().getMessage());
 
     }
+
+    @Test
+    void shouldReturnEveryFieldErrorForValidationException() {
+        List<FieldErrorDTO> errors = List.of(new FieldErrorDTO("email", "Invalid email format: x."),
+                new FieldErrorDTO("roles", "Unknown role OWNER."));
+        ValidationException ex = new ValidationException("INVALID_FORMAT", "Failed to create user.", errors);
+
+        ResponseEntity<ErrorResponse> response = handler.handleValidationException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(Objects.requireNonNull(response.getBody()).getErrors()).isEqualTo(errors);
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableForServiceOverloadedException() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("BUSY", "Try again");
+
+        ResponseEntity<ErrorResponse> response = handler.handleServiceOverloadedException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(Objects.requireNonNull(response.getBody()).getCode()).isEqualTo("BUSY");
+    }
+
+    @Test
+    void shouldReturnPreconditionFailedForPreconditionFailedException() {
+        PreconditionFailedException ex = new PreconditionFailedException("VERSION_MISMATCH", "Changed");
+
+        ResponseEntity<ErrorResponse> response = handler.handlePreconditionFailedException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(Objects.requireNonNull(response.getBody()).getCode()).isEqualTo("VERSION_MISMATCH");
+    }
+
+    @Test
+    void shouldReturnTooManyRequestsWithRetryAfterRoundedUp() {
+        RateLimitExceededException ex = new RateLimitExceededException("TOO_MANY_PASSWORD_ATTEMPTS", "Slow down", Duration.ofMillis(2500));
+
+        ResponseEntity<ErrorResponse> response = handler.handleRateLimitExceededException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(Objects.requireNonNull(response.getBody()).getCode()).isEqualTo("TOO_MANY_PASSWORD_ATTEMPTS");
+    }
 }
@@ -1,7 +1,11 @@
 package com.retailpulse.usermanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailpulse.usermanagement.service.UserExportService;
+import com.retailpulse.usermanagement.service.UserImportService;
+import com.retailpulse.usermanagement.service.UserLookupService;
 import com.retailpulse.usermanagement.service.UserService;
+import com.retailpulse.usermanagement.service.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,16 +13,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 public class UserControllerTest {
@@ -28,6 +40,15 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private UserExportService userExportService;
+
+    @Mock
+    private UserLookupService userLookupService;
+
     @InjectMocks
     private UserController userController;
 
@@ -35,16 +56,20 @@ public class UserControllerTest {
 
     @BeforeEach
     public void setUp() {
+        ReflectionTestUtils.setField(userController, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(userController, "maxPageSize", 500);
+        ReflectionTestUtils.setField(userController, "maxSearchResults", 1000);
         mockMvc = MockMvcBuilders.standaloneSetup(userController).build();
     }
 
     @Test
     public void testGetAllUsers() throws Exception {
+        ReflectionTestUtils.setField(userController, "legacyMode", true);
         List<ViewUserDTO> mockUsers = List.of(
                 new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true)
         );
 
-        when(userService.getAllUsers()).thenReturn(mockUsers);
+        when(userService.getAllUsersWithVersion()).thenReturn(new Versioned<>(3L, mockUsers));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
@@ -52,6 +77,37 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].username").value("alice"));
     }
 
+    @Test
+    public void testGetUsersPage() throws Exception {
+        UserPageDTO mockPage = new UserPageDTO(List.of(
+                new ViewUserDTO(11L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true)
+        ), 11L);
+
+        when(userService.getUsersWithVersion(10L, 1)).thenReturn(new Versioned<>(3L, mockPage));
+
+        mockMvc.perform(get("/api/users?after=10&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.size()").value(1))
+                .andExpect(jsonPath("$.users[0].username").value("alice"))
+                .andExpect(jsonPath("$.next").value(11));
+    }
+
+    @Test
+    public void testGetUsersPage_DefaultsAndClampsSize() throws Exception {
+        when(userService.getUsersWithVersion(null, 50)).thenReturn(new Versioned<>(3L, new UserPageDTO(List.of(), null)));
+        when(userService.getUsersWithVersion(null, 500)).thenReturn(new Versioned<>(3L, new UserPageDTO(List.of(), null)));
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.size()").value(0));
+
+        mockMvc.perform(get("/api/users?size=100000"))
+                .andExpect(status().isOk());
+
+        verify(userService).getUsersWithVersion(null, 50);
+        verify(userService).getUsersWithVersion(null, 500);
+    }
+
     @Test
     public void testGetUserById() throws Exception {
         ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true);
@@ -63,6 +119,65 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.username").value("alice"));
     }
 
+    @Test
+    public void testGetUserById_TaggedWithVersion() throws Exception {
+        ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true, 4L);
+
+        when(userService.getUserVersionById(1L)).thenReturn(Optional.of(4L));
+        when(userService.getUserById(1L)).thenReturn(Optional.of(mockUser));
+
+        mockMvc.perform(get("/api/users/id/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    public void testGetUserById_NotModified() throws Exception {
+        when(userService.getUserVersionById(1L)).thenReturn(Optional.of(4L));
+
+        mockMvc.perform(get("/api/users/id/1").header("If-None-Match", "W/\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(userService, never()).getUserById(1L);
+    }
+
+    @Test
+    public void testGetUsersPage_NotModified() throws Exception {
+        when(userService.getCollectionVersion()).thenReturn(12L);
+
+        mockMvc.perform(get("/api/users?size=10").header("If-None-Match", "\"c12\""))
+                .andExpect(status().isNotModified());
+
+        verify(userService, never()).getUsersWithVersion(any(), anyInt());
+    }
+
+    @Test
+    public void testGetUsersPage_TaggedWithTheVersionReadWithThePage() throws Exception {
+        // The latest version has moved on, but the page was read at version 12
+        when(userService.getCollectionVersion()).thenReturn(13L);
+        when(userService.getUsersWithVersion(null, 10)).thenReturn(new Versioned<>(12L, new UserPageDTO(List.of(), null)));
+
+        mockMvc.perform(get("/api/users?size=10").header("If-None-Match", "\"c11\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"c12\""));
+    }
+
+    @Test
+    public void testPutUser_IfMatch() throws Exception {
+        ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true, 4L);
+        UpdateUserDTO updateUserDTO = new UpdateUserDTO("Alice", "alice@email.com", List.of("ADMIN"), true);
+
+        when(userService.updateUser(1L, updateUserDTO, 3L)).thenReturn(mockUser);
+
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(updateUserDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     public void testGetUserByUsername() throws Exception {
         ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true);
@@ -75,14 +190,32 @@ public class UserControllerTest {
     }
 
     @Test
-    public void testGetUserByName() throws Exception {
+    public void testSearchUsers() throws Exception {
         ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true);
 
-        when(userService.getUserByName("Alice")).thenReturn(Optional.of(mockUser));
+        when(userService.searchUsers("Alice", 0, 50)).thenReturn(new UserSearchResultDTO(List.of(mockUser), 0, 50, false));
 
-        mockMvc.perform(get("/api/users/search?name=Alice"))
+        mockMvc.perform(get("/api/users/search?q=Alice"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.username").value("alice"));
+                .andExpect(jsonPath("$.users[0].username").value("alice"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    public void testSearchUsers_LegacyNameParameter() throws Exception {
+        when(userService.searchUsers("Alice", 2, 10)).thenReturn(new UserSearchResultDTO(List.of(), 2, 10, false));
+
+        mockMvc.perform(get("/api/users/search?name=Alice&page=2&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(2));
+    }
+
+    @Test
+    public void testSearchUsers_PageBeyondLimitIsRejected() throws Exception {
+        ReflectionTestUtils.setField(userController, "maxSearchResults", 100);
+
+        mockMvc.perform(get("/api/users/search?q=Alice&page=10&size=10"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -100,12 +233,43 @@ public class UserControllerTest {
 
     }
 
+    @Test
+    public void testImportUsers() throws Exception {
+        List<CreateUserDTO> rows = List.of(new CreateUserDTO("alice", "password1", "alice@email.com", "Alice", List.of("ADMIN")));
+        BulkImportReportDTO report = new BulkImportReportDTO(1, 1, 0,
+                List.of(new BulkImportResultDTO(1, "alice", "CREATED", 1L, null, null)));
+
+        when(userImportService.importUsers(rows)).thenReturn(report);
+
+        mockMvc.perform(post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(1));
+    }
+
+    @Test
+    public void testImportUsersCsv() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv",
+                "username,password,email,name,roles\nalice,password1,alice@email.com,Alice,ADMIN\n".getBytes());
+        BulkImportReportDTO report = new BulkImportReportDTO(1, 1, 0,
+                List.of(new BulkImportResultDTO(1, "alice", "CREATED", 1L, null, null)));
+
+        when(userImportService.importUsers(List.of(new CreateUserDTO("alice", "password1", "alice@email.com", "Alice", List.of("ADMIN")))))
+                .thenReturn(report);
+
+        mockMvc.perform(multipart("/api/users/bulk").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"));
+    }
+
     @Test
     public void testPutUser() throws Exception {
         ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), true);
         UpdateUserDTO updateUserDTO = new UpdateUserDTO("Alice", "alice@email.com", List.of("ADMIN"), true);
 
-        when(userService.updateUser(1L, updateUserDTO)).thenReturn(mockUser);
+        when(userService.updateUser(1L, updateUserDTO, null)).thenReturn(mockUser);
 
         mockMvc.perform(put("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -114,6 +278,46 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.username").value("alice"));
     }
 
+    @Test
+    public void testPatchUser() throws Exception {
+        ViewUserDTO mockUser = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("ADMIN"), false, 5L);
+
+        when(userService.patchUser(1L, new PatchUserDTO(null, null, null, false), 4L)).thenReturn(mockUser);
+
+        mockMvc.perform(patch("/api/users/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"isEnabled\":false}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.enabled").value(false));
+    }
+
+    @Test
+    public void testCheckUsernameAvailability() throws Exception {
+        when(userService.isUsernameAvailable("newbie")).thenReturn(true);
+
+        mockMvc.perform(get("/api/users/availability").param("username", "newbie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("newbie"))
+                .andExpect(jsonPath("$.available").value(true));
+    }
+
+    @Test
+    public void testLookupUsers() throws Exception {
+        ViewUserDTO alice = new ViewUserDTO(1L, "alice", "alice@email.com", "Alice", List.of("CASHIER"), true, 0L);
+        UserLookupDTO lookupDTO = new UserLookupDTO(List.of(1L), List.of("alice"));
+
+        when(userLookupService.lookupUsers(lookupDTO)).thenReturn(new UserLookupResultDTO(Map.of(1L, alice), Map.of("alice", alice)));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(lookupDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids.1.username").value("alice"))
+                .andExpect(jsonPath("$.usernames.alice.id").value(1));
+    }
+
     @Test
     public void testDeleteUser() throws Exception {
         mockMvc.perform(delete("/api/users/1"))
@@ -130,4 +334,56 @@ public class UserControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testGetUsersByRole() throws Exception {
+        UserPageDTO mockPage = new UserPageDTO(List.of(
+                new ViewUserDTO(3L, "bob", "bob@email.com", "Bob", List.of("CASHIER"), true)
+        ), null);
+
+        when(userService.getUsersByRole("CASHIER", true, null, 50)).thenReturn(mockPage);
+
+        mockMvc.perform(get("/api/users?role=CASHIER&enabled=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("bob"));
+    }
+
+    @Test
+    public void testExportUsersGzip() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/users/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+
+        verify(userExportService).exportUsers(any(), eq(true));
+    }
+
+    @Test
+    public void testExportUsersPlain() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        verify(userExportService).exportUsers(any(), eq(false));
+    }
+
+    @Test
+    public void testExportUsersGzipRefused() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/users/export").header("Accept-Encoding", "gzip;q=0, *;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        verify(userExportService).exportUsers(any(), eq(false));
+    }
 }
@@ -0,0 +1,46 @@
+package com.retailpulse.usermanagement.controller;
+
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserCsvParserTest {
+
+    @Test
+    void parsesRowsWithQuotedFieldsAndMultipleRoles() throws IOException {
+        String csv = """
+                username,password,email,name,roles
+                alice,StrongPass1,alice@mail.com,"Smith, Alice",CASHIER|MANAGER
+
+                bob,"Pass""word1",,,
+                """;
+
+        List<CreateUserDTO> users = UserCsvParser.parse(new StringReader(csv));
+
+        assertThat(users).containsExactly(
+                new CreateUserDTO("alice", "StrongPass1", "alice@mail.com", "Smith, Alice", List.of("CASHIER", "MANAGER")),
+                new CreateUserDTO("bob", "Pass\"word1", null, null, List.of()));
+    }
+
+    @Test
+    void rejectsUnexpectedHeader() {
+        String csv = "user,pass\nalice,StrongPass1\n";
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> UserCsvParser.parse(new StringReader(csv)));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+    }
+
+    @Test
+    void rejectsRowWithWrongFieldCount() {
+        String csv = "username,password,email,name,roles\nalice,StrongPass1\n";
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> UserCsvParser.parse(new StringReader(csv)));
+        assertThat(ex.getMessage()).contains("line 2");
+    }
+}
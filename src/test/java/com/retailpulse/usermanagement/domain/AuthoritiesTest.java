@@ -0,0 +1,39 @@
+package com.retailpulse.usermanagement.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AuthoritiesTest {
+
+    @Test
+    void maskRoundTripsEveryCombination() {
+        for (int mask = 0; mask < 8; mask++) {
+            assertThat(Authorities.toMask(Authorities.fromMask(mask))).isEqualTo(mask);
+        }
+        assertThat(Authorities.toMask(null)).isZero();
+    }
+
+    @Test
+    void fromMaskReturnsSharedUnmodifiableSets() {
+        Set<Authorities> roles = Authorities.fromMask(Authorities.ADMIN.getBit() | Authorities.MANAGER.getBit());
+
+        assertThat(roles).containsExactly(Authorities.ADMIN, Authorities.MANAGER);
+        assertThat(Authorities.fromMask(Authorities.toMask(EnumSet.of(Authorities.MANAGER, Authorities.ADMIN)))).isSameAs(roles);
+        assertThrows(UnsupportedOperationException.class, () -> roles.add(Authorities.CASHIER));
+        assertThat(Authorities.namesOf(Authorities.toMask(roles))).isEqualTo(List.of("ADMIN", "MANAGER"));
+    }
+
+    @Test
+    void userCanonicalizesRoles() {
+        User user = new User.Builder("john").authorities(new HashSet<>(Set.of(Authorities.CASHIER))).build();
+
+        assertThat(user.getAuthorities()).isSameAs(Authorities.fromMask(Authorities.CASHIER.getBit()));
+    }
+}
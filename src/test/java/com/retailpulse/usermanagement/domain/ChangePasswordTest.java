@@ -7,12 +7,14 @@ import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
 import com.retailpulse.usermanagement.repository.UserRepository;
 import com.retailpulse.usermanagement.service.PasswordEncoder;
 import com.retailpulse.usermanagement.service.PasswordValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -72,7 +74,7 @@ public class ChangePasswordTest {
     @Test
     public void incorrectFormatPassword() {
         // Given
-        PasswordEncoder passwordEncoder = new PasswordEncoder();
+        PasswordEncoder passwordEncoder = new PasswordEncoder(1, 1, "bcrypt", Duration.ZERO, new SimpleMeterRegistry());
         Set<Authorities> authorities = new HashSet<>();
         authorities.add(Authorities.ADMIN);
 
@@ -102,7 +104,7 @@ public class ChangePasswordTest {
     @Test
     public void wrongCurrentPassword() {
         // Given
-        PasswordEncoder passwordEncoder = new PasswordEncoder();
+        PasswordEncoder passwordEncoder = new PasswordEncoder(1, 1, "bcrypt", Duration.ZERO, new SimpleMeterRegistry());
         Set<Authorities> authorities = new HashSet<>();
         authorities.add(Authorities.ADMIN);
 
@@ -15,7 +15,6 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -91,9 +90,7 @@ public class UpdateUserTest {
         when(userRepository.save(updatedUserEntity)).thenReturn(updatedUserEntity);
         UserEntity userEntity = userRepository.save(updatedUserEntity);
 
-        assertThat(userEntity.getAuthorities().stream().map(
-                role -> Authorities.valueOf(role.getAuthority())
-        ).collect(Collectors.toSet())).isEqualTo(newAuthorities);
+        assertThat(Authorities.fromMask(userEntity.getRoles())).isEqualTo(newAuthorities);
     }
 
     @Test
@@ -129,6 +126,19 @@ public class UpdateUserTest {
                 () -> savedUser.updateEmail(newEmail), "Email must be in the correct format");
     }
 
+    @Test
+    public void updateTrustedEmailSkipsFormatCheck() {
+        // Given
+        UserEntity savedUserEntity = userRepository.getReferenceById(1L);
+        User savedUser = UserMapper.toDomain(savedUserEntity);
+
+        // Given
+        String newEmail = "newEmail";
+        savedUser.updateTrustedEmail(newEmail);
+
+        assertThat(savedUser.getEmail()).isEqualTo(newEmail);
+    }
+
     @Test
     public void updateEmail() {
         // Given
@@ -0,0 +1,89 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "user.export.fetch-size=100"
+})
+// READ_WRITE regions only take entries once the writing transaction commits, so each call here runs in its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserEntityCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private UserEntity save(String username) {
+        return userRepository.save(new UserEntity(username, "hashed", "Name", username + "@mail.com", true));
+    }
+
+    @Test
+    void findByIdIsServedFromSecondLevelCacheAcrossSessions() {
+        Long id = save("alice").getId();
+
+        userRepository.findById(id);
+        long queries = statistics.getPrepareStatementCount();
+        assertThat(userRepository.findById(id)).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+        assertThat(statistics.getDomainDataRegionStatistics(UserEntity.CACHE_REGION).getHitCount()).isPositive();
+    }
+
+    @Test
+    void findByUsernameResolvesThroughNaturalIdCache() {
+        save("alice");
+
+        assertThat(userRepository.findByUsername("alice")).isPresent();
+        long queries = statistics.getPrepareStatementCount();
+        assertThat(userRepository.findByUsername("alice")).get().extracting(UserEntity::getUsername).isEqualTo("alice");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+        assertThat(userRepository.findByUsername("nobody")).isEmpty();
+    }
+
+    @Test
+    void saveAndDeleteKeepCachedEntryCurrent() {
+        Long id = save("alice").getId();
+        UserEntity userEntity = userRepository.findById(id).orElseThrow();
+        userEntity.setName("Alice Updated");
+        userRepository.save(userEntity);
+
+        assertThat(userRepository.findById(id)).get().extracting(UserEntity::getName).isEqualTo("Alice Updated");
+
+        userRepository.deleteById(id);
+
+        assertThat(userRepository.findById(id)).isEmpty();
+        assertThat(userRepository.findByUsername("alice")).isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "user.export.fetch-size=100"
+})
+@Import(UserJdbcRepository.class)
+public class UserJdbcRepositoryTest {
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batchInsertWritesUsersAndAuthorities() {
+        List<User> users = List.of(
+                new User.Builder("alice").password("hashed").name("Alice").email("alice@mail.com")
+                        .authorities(Set.of(Authorities.CASHIER, Authorities.MANAGER)).build(),
+                new User.Builder("bob").password("hashed").name("Bob").authorities(Set.of()).build());
+
+        userJdbcRepository.batchInsert(users);
+        Map<String, Long> ids = userJdbcRepository.findIdsByUsernames(List.of("alice", "bob", "carol"));
+
+        assertThat(ids).containsOnlyKeys("alice", "bob");
+        entityManager.clear();
+        UserEntity alice = userRepository.findById(ids.get("alice")).orElseThrow();
+        assertThat(Authorities.fromMask(alice.getRoles())).containsExactlyInAnyOrder(Authorities.CASHIER, Authorities.MANAGER);
+        assertThat(alice.isEnabled()).isTrue();
+    }
+
+    @Test
+    void streamUsersAggregatesRolesInIdOrder() {
+        userJdbcRepository.batchInsert(List.of(
+                new User.Builder("alice").password("hashed").name("Alice")
+                        .authorities(Set.of(Authorities.MANAGER, Authorities.CASHIER)).build(),
+                new User.Builder("bob").password("hashed").authorities(Set.of()).build()));
+
+        List<UserJdbcRepository.UserRow> rows = new ArrayList<>();
+        userJdbcRepository.streamUsers(rows::add);
+
+        assertThat(rows).extracting(UserJdbcRepository.UserRow::username).containsExactly("alice", "bob");
+        assertThat(rows.get(0).roles()).containsExactly("CASHIER", "MANAGER");
+        assertThat(rows.get(1).roles()).isEmpty();
+    }
+
+    @Test
+    void updateAuthoritiesAppliesRoleDelta() {
+        userJdbcRepository.batchInsert(List.of(new User.Builder("alice").password("hashed")
+                .authorities(Set.of(Authorities.CASHIER, Authorities.MANAGER)).build()));
+
+        userJdbcRepository.updateAuthorities("alice", Set.of(Authorities.ADMIN), Set.of(Authorities.MANAGER));
+
+        List<String> authorities = jdbcTemplate.queryForList(
+                "SELECT authority FROM authorities WHERE username = 'alice'", String.class);
+        assertThat(authorities).containsExactlyInAnyOrder("ADMIN", "CASHIER");
+    }
+}
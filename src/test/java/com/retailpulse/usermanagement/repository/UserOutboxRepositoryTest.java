@@ -0,0 +1,42 @@
+package com.retailpulse.usermanagement.repository;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.domain.UserChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "user.export.fetch-size=100"
+})
+@Import(UserOutboxRepository.class)
+public class UserOutboxRepositoryTest {
+
+    @Autowired
+    private UserOutboxRepository userOutboxRepository;
+
+    @Test
+    void appendedEventsAreClaimedOldestFirstAndDeletedById() {
+        userOutboxRepository.append(UserChangeType.UPDATED, 7L, "alice");
+        userOutboxRepository.appendAll(UserChangeType.CREATED, Map.of("bob", 8L));
+        userOutboxRepository.append(UserChangeType.DELETED, 7L, "alice");
+
+        List<UserChangeEvent> oldest = userOutboxRepository.claimOldest(2);
+
+        assertThat(oldest).extracting(UserChangeEvent::type).containsExactly(UserChangeType.UPDATED, UserChangeType.CREATED);
+        assertThat(oldest.get(1).username()).isEqualTo("bob");
+        assertThat(oldest.get(1).userId()).isEqualTo(8L);
+
+        userOutboxRepository.deleteByIds(oldest.stream().map(UserChangeEvent::id).toList());
+
+        assertThat(userOutboxRepository.claimOldest(10)).extracting(UserChangeEvent::type).containsExactly(UserChangeType.DELETED);
+    }
+}
@@ -0,0 +1,76 @@
+package com.retailpulse.usermanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MicroBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private Map<Long, String> load(Set<Long> ids) {
+        batches.add(Set.copyOf(ids));
+        return Map.of(1L, "alice", 2L, "bob");
+    }
+
+    @Test
+    void fullBatchIsResolvedByOneLoadWithoutWaitingForTheWindow() throws Exception {
+        // A window this long would time the test out, so only the size bound can release the callers
+        MicroBatcher<Long, String> batcher = new MicroBatcher<>("id", this::load, Duration.ofMinutes(1), 3, meterRegistry);
+
+        Future<String> alice = callers.submit(() -> batcher.load(1L));
+        Future<String> bob = callers.submit(() -> batcher.load(2L));
+        Future<String> missing = callers.submit(() -> batcher.load(99L));
+
+        assertThat(alice.get(5, TimeUnit.SECONDS)).isEqualTo("alice");
+        assertThat(bob.get(5, TimeUnit.SECONDS)).isEqualTo("bob");
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(batches).containsExactly(Set.of(1L, 2L, 99L));
+        assertThat(meterRegistry.get("user.lookup.batch.size").tag("key", "id").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void partialBatchIsLoadedWhenTheWindowCloses() {
+        MicroBatcher<Long, String> batcher = new MicroBatcher<>("id", this::load, Duration.ofMillis(20), 100, meterRegistry);
+
+        assertThat(batcher.load(2L)).isEqualTo("bob");
+        assertThat(batcher.load(1L)).isEqualTo("alice");
+        assertThat(batches).containsExactly(Set.of(2L), Set.of(1L));
+    }
+
+    @Test
+    void failedLoadFailsEveryCallerInTheBatch() {
+        MicroBatcher<Long, String> batcher = new MicroBatcher<>("id", ids -> {
+            throw new IllegalStateException("database unavailable");
+        }, Duration.ofMinutes(1), 2, meterRegistry);
+
+        Future<String> first = callers.submit(() -> batcher.load(1L));
+        Future<String> second = callers.submit(() -> batcher.load(2L));
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertThat(firstFailure.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(secondFailure.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.domain.exception.InvalidPasswordException;
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PasswordEncoder passwordEncoder = new PasswordEncoder(1, 1, "bcrypt", Duration.ZERO, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    void hashAndVerifyRoundTrip() {
+        String hash = passwordEncoder.hashPassword("password1");
+
+        assertThat(passwordEncoder.matches("password1", hash)).isTrue();
+        assertThrows(InvalidPasswordException.class, () -> passwordEncoder.matches("password2", hash));
+        assertThat(meterRegistry.get("user.password.hashing").tag("operation", "hash").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("user.password.hashing").tag("operation", "verify").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value()).isZero();
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        // one worker and one queue slot; the rest of the callers must be turned away immediately
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callerThreads = Executors.newFixedThreadPool(callers);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return passwordEncoder.hashPassword("password1");
+            }, callerThreads));
+        }
+        start.countDown();
+
+        long rejected = results.stream()
+                .filter(result -> {
+                    try {
+                        result.join();
+                        return false;
+                    } catch (Exception e) {
+                        return e.getCause() instanceof ServiceOverloadedException;
+                    }
+                })
+                .count();
+        callerThreads.shutdown();
+
+        assertThat(rejected).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.retailpulse.usermanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    // Low work factors keep the suite fast; production never goes below the algorithm minimum
+    private final PasswordHasher bcrypt = new PasswordHasher(PasswordHashAlgorithm.BCRYPT, 4);
+    private final PasswordHasher pbkdf2 = new PasswordHasher(PasswordHashAlgorithm.PBKDF2, 1000);
+    private final PasswordHasher argon2 = new PasswordHasher(PasswordHashAlgorithm.ARGON2, 1);
+
+    @Test
+    void bcryptHashesStayUnprefixed() {
+        String hash = bcrypt.encode("password1");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(new BCryptPasswordEncoder().matches("password1", hash)).isTrue();
+    }
+
+    @Test
+    void prefixesOtherAlgorithms() {
+        assertThat(pbkdf2.encode("password1")).startsWith("{pbkdf2:1000}");
+        assertThat(argon2.encode("password1")).startsWith("{argon2}$argon2id$");
+    }
+
+    @Test
+    void verifiesHashesWrittenByAnyAlgorithm() {
+        String legacyBcrypt = new BCryptPasswordEncoder(4).encode("password1");
+        String pbkdf2Hash = pbkdf2.encode("password1");
+        String argon2Hash = argon2.encode("password1");
+
+        for (PasswordHasher hasher : new PasswordHasher[]{bcrypt, pbkdf2, argon2}) {
+            assertThat(hasher.matches("password1", legacyBcrypt)).isTrue();
+            assertThat(hasher.matches("password1", "{bcrypt}" + legacyBcrypt)).isTrue();
+            assertThat(hasher.matches("password1", pbkdf2Hash)).isTrue();
+            assertThat(hasher.matches("password1", argon2Hash)).isTrue();
+            assertThat(hasher.matches("password2", pbkdf2Hash)).isFalse();
+            assertThat(hasher.matches("password2", argon2Hash)).isFalse();
+        }
+    }
+
+    @Test
+    void unreadableStoredHashesDoNotMatch() {
+        String pbkdf2Hash = pbkdf2.encode("password1");
+
+        assertThat(bcrypt.matches("password1", "{md5}5f4dcc3b5aa765d61d8327deb882cf99")).isFalse();
+        assertThat(bcrypt.matches("password1", pbkdf2Hash.replace("{pbkdf2:1000}", "{pbkdf2:x}"))).isFalse();
+        assertThat(bcrypt.matches("password1", "{pbkdf2:1000}not-hex")).isFalse();
+    }
+
+    @Test
+    void needsRehashWhenAlgorithmDiffers() {
+        assertThat(argon2.needsRehash(bcrypt.encode("password1"))).isTrue();
+        assertThat(bcrypt.needsRehash(pbkdf2.encode("password1"))).isTrue();
+        assertThat(pbkdf2.needsRehash(argon2.encode("password1"))).isTrue();
+    }
+
+    @Test
+    void needsRehashOnlyWhenWorkFactorIsLower() {
+        PasswordHasher strongerBcrypt = new PasswordHasher(PasswordHashAlgorithm.BCRYPT, 5);
+        PasswordHasher strongerPbkdf2 = new PasswordHasher(PasswordHashAlgorithm.PBKDF2, 2000);
+
+        assertThat(strongerBcrypt.needsRehash(bcrypt.encode("password1"))).isTrue();
+        assertThat(bcrypt.needsRehash(strongerBcrypt.encode("password1"))).isFalse();
+        assertThat(bcrypt.needsRehash(bcrypt.encode("password1"))).isFalse();
+        assertThat(strongerPbkdf2.needsRehash(pbkdf2.encode("password1"))).isTrue();
+        assertThat(pbkdf2.needsRehash(strongerPbkdf2.encode("password1"))).isFalse();
+    }
+
+    @Test
+    void needsRehashWhenArgon2HashUsedLessMemory() {
+        String sixteenMiB = "{argon2}" + new Argon2PasswordEncoder(16, 32, 1, 1 << 14, 1).encode("password1");
+
+        assertThat(argon2.needsRehash(sixteenMiB)).isTrue();
+        assertThat(argon2.matches("password1", sixteenMiB)).isTrue();
+        assertThat(argon2.needsRehash(argon2.encode("password1"))).isFalse();
+    }
+
+    @Test
+    void calibrationNeverGoesBelowTheMinimum() {
+        PasswordHasher uncalibrated = PasswordHasher.calibrated(PasswordHashAlgorithm.BCRYPT, Duration.ZERO);
+        PasswordHasher calibrated = PasswordHasher.calibrated(PasswordHashAlgorithm.BCRYPT, Duration.ofNanos(1));
+
+        assertThat(uncalibrated.getWorkFactor()).isEqualTo(10);
+        assertThat(calibrated.getWorkFactor()).isEqualTo(10);
+    }
+
+    @Test
+    void scalesWorkFactorToTheTargetTime() {
+        assertThat(PasswordHashAlgorithm.BCRYPT.scale(10, 4.5)).isEqualTo(12);
+        assertThat(PasswordHashAlgorithm.BCRYPT.scale(10, 0.5)).isEqualTo(10);
+        assertThat(PasswordHashAlgorithm.PBKDF2.scale(600_000, 1.5)).isEqualTo(900_000);
+        assertThat(PasswordHashAlgorithm.ARGON2.scale(2, 3.9)).isEqualTo(7);
+    }
+}
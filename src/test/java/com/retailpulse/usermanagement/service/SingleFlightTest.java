@@ -0,0 +1,164 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    // Blocks until released, so every caller started meanwhile overlaps the first load
+    private final Supplier<String> slowLoader = () -> {
+        loads.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "alice";
+    };
+
+    private double count(String outcome) {
+        return meterRegistry.get("user.lookup.single.flight").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", 100, Duration.ofSeconds(5), meterRegistry);
+        Future<String> leader = callers.submit(() -> singleFlight.load(1L, slowLoader));
+        waitUntil(() -> singleFlight.inFlight() == 1);
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(callers.submit(() -> singleFlight.load(1L, slowLoader)));
+        }
+        waitUntil(() -> singleFlight.waiters(1L) == 10);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("alice");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("alice");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("loaded")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(10);
+        assertThat(meterRegistry.get("user.lookup.single.flight.ratio").tag("key", "id").gauge().value())
+                .isEqualTo(10.0 / 11);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void callersAfterAForgetStartAFreshLoad() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", 100, Duration.ofSeconds(5), meterRegistry);
+        Future<String> stale = callers.submit(() -> singleFlight.load(1L, slowLoader));
+        waitUntil(() -> singleFlight.inFlight() == 1);
+
+        singleFlight.forget(1L);
+        CountDownLatch freshStarted = new CountDownLatch(1);
+        CountDownLatch freshRelease = new CountDownLatch(1);
+        Future<String> fresh = callers.submit(() -> singleFlight.load(1L, () -> {
+            freshStarted.countDown();
+            try {
+                freshRelease.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "alice v2";
+        }));
+        assertThat(freshStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The stale leader finishing must not detach the fresh load
+        release.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("alice");
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+        Future<String> follower = callers.submit(() -> singleFlight.load(1L, slowLoader));
+        waitUntil(() -> singleFlight.waiters(1L) == 1);
+
+        freshRelease.countDown();
+        assertThat(fresh.get(5, TimeUnit.SECONDS)).isEqualTo("alice v2");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("alice v2");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void callersBeyondTheWaiterLimitLoadOnTheirOwn() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", 0, Duration.ofSeconds(5), meterRegistry);
+        callers.submit(() -> singleFlight.load(1L, slowLoader));
+        waitUntil(() -> singleFlight.inFlight() == 1);
+
+        assertThat(singleFlight.load(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(count("overflowed")).isEqualTo(1);
+    }
+
+    @Test
+    void waitersThatTimeOutLoadOnTheirOwn() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", 100, Duration.ofMillis(20), meterRegistry);
+        callers.submit(() -> singleFlight.load(1L, slowLoader));
+        waitUntil(() -> singleFlight.inFlight() == 1);
+
+        assertThat(singleFlight.load(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(count("timed-out")).isEqualTo(1);
+    }
+
+    @Test
+    void interruptedWaiterGetsServiceOverloadedAndKeepsTheFlag() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", 100, Duration.ofSeconds(5), meterRegistry);
+        callers.submit(() -> singleFlight.load(1L, slowLoader));
+        waitUntil(() -> singleFlight.inFlight() == 1);
+
+        Thread.currentThread().interrupt();
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> singleFlight.load(1L, () -> "fresh"));
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(exception.getErrorCode()).isEqualTo("SERVER_BUSY");
+        assertThat(singleFlight.waiters(1L)).isZero();
+    }
+
+    @Test
+    void failedLoadIsNotRemembered() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", 100, Duration.ofSeconds(5), meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.load(1L, () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(singleFlight.load(1L, () -> "alice")).isEqualTo("alice");
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
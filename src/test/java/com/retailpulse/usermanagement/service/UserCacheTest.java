@@ -0,0 +1,104 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private final UserCache userCache = new UserCache(100, Duration.ofMinutes(10));
+
+    private final ViewUserDTO john = new ViewUserDTO(1L, "john", "john@mail.com", "John", List.of("ADMIN"), true);
+
+    @Test
+    void putMakesUserReachableByIdAndUsername() {
+        userCache.put(john);
+
+        assertThat(userCache.getById(1L)).isEqualTo(john);
+        assertThat(userCache.getByUsername("john")).isEqualTo(john);
+        assertThat(userCache.byIdStats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatingIdAlsoDropsUsernameLookup() {
+        userCache.put(john);
+
+        userCache.invalidate(1L);
+
+        assertThat(userCache.getById(1L)).isNull();
+        assertThat(userCache.getByUsername("john")).isNull();
+        // the dangling username entry is cleaned up on the miss
+        assertThat(userCache.getByUsername("john")).isNull();
+        assertThat(userCache.byUsernameStats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lookupKeyIsKeptForCaseInsensitiveUsernames() {
+        userCache.put("JOHN", john);
+
+        assertThat(userCache.getByUsername("JOHN")).isEqualTo(john);
+        assertThat(userCache.getByUsername("john")).isEqualTo(john);
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        long loadedAt = userCache.generation();
+        userCache.invalidate(1L);
+
+        userCache.put(john, loadedAt);
+
+        assertThat(userCache.getById(1L)).isNull();
+        assertThat(userCache.getByUsername("john")).isNull();
+    }
+
+    @Test
+    void invalidatingAnotherUserDoesNotRejectTheLoad() {
+        long loadedAt = userCache.generation();
+        userCache.invalidate(2L);
+        userCache.invalidateUsername("jane");
+
+        userCache.put("JOHN", john, loadedAt);
+
+        assertThat(userCache.getById(1L)).isEqualTo(john);
+        assertThat(userCache.getByUsername("JOHN")).isEqualTo(john);
+    }
+
+    @Test
+    void loadThatRacedAUsernameInvalidationIsNotCached() {
+        long loadedAt = userCache.generation();
+        userCache.invalidateUsername("John");
+
+        userCache.put("JOHN", john, loadedAt);
+
+        assertThat(userCache.getById(1L)).isNull();
+    }
+
+    @Test
+    void loadOlderThanTheTrackedInvalidationsIsNotCached() {
+        long loadedAt = userCache.generation();
+        for (long id = 2; id < 20_000; id++) {
+            userCache.invalidate(id);
+        }
+
+        userCache.put(john, loadedAt);
+        userCache.put(new ViewUserDTO(20_000L, "jane", "jane@mail.com", "Jane", List.of(), true), userCache.generation());
+
+        assertThat(userCache.getById(1L)).isNull();
+        assertThat(userCache.getById(20_000L)).isNotNull();
+    }
+
+    @Test
+    void olderVersionDoesNotReplaceNewerOne() {
+        ViewUserDTO v2 = new ViewUserDTO(1L, "john", "john@mail.com", "Johnny", List.of("ADMIN"), true, 2L);
+        ViewUserDTO v1 = new ViewUserDTO(1L, "john", "john@mail.com", "John", List.of("ADMIN"), true, 1L);
+        userCache.put(v2);
+
+        userCache.put(v1);
+
+        assertThat(userCache.getById(1L)).isEqualTo(v2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.repository.UserCollectionVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCollectionVersionTest {
+
+    @Mock
+    private UserCollectionVersionRepository repository;
+
+    private UserCollectionVersion userCollectionVersion;
+
+    @BeforeEach
+    void setUp() {
+        userCollectionVersion = new UserCollectionVersion(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void testCurrent_RetriesFailedBumpBeforeReading() {
+        // Arrange
+        when(repository.increment()).thenThrow(new QueryTimeoutException("lock wait")).thenReturn(1);
+        when(repository.findCurrentVersion()).thenReturn(Optional.of(8L));
+
+        // Act
+        userCollectionVersion.increment();
+        long first = userCollectionVersion.current();
+        long second = userCollectionVersion.current();
+
+        // Assert
+        assertThat(first).isEqualTo(8L);
+        assertThat(second).isEqualTo(8L);
+        verify(repository, times(2)).increment();
+    }
+
+    @Test
+    void testCurrent_NoPendingBump_OnlyReads() {
+        // Arrange
+        when(repository.increment()).thenReturn(1);
+        when(repository.findCurrentVersion()).thenReturn(Optional.of(3L));
+
+        // Act
+        userCollectionVersion.increment();
+        long version = userCollectionVersion.current();
+
+        // Assert
+        assertThat(version).isEqualTo(3L);
+        verify(repository, times(1)).increment();
+    }
+}
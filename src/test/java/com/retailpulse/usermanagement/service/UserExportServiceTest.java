@@ -0,0 +1,75 @@
+package com.retailpulse.usermanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository.UserRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExportServiceTest {
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportService(userJdbcRepository, mapper);
+        doAnswer(invocation -> {
+            Consumer<UserRow> consumer = invocation.getArgument(0);
+            consumer.accept(new UserRow(1L, "alice", "Alice", "alice@mail.com", true, List.of("ADMIN", "MANAGER"), 3L));
+            consumer.accept(new UserRow(2L, "bob", null, null, false, List.of(), 0L));
+            return null;
+        }).when(userJdbcRepository).streamUsers(any());
+    }
+
+    @Test
+    void testExportWritesOneUserPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = userExportService.exportUsers(out, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        JsonNode alice = mapper.readTree(lines[0]);
+        assertEquals("alice", alice.get("username").asText());
+        assertEquals(2, alice.get("roles").size());
+        assertEquals(3L, alice.get("version").asLong());
+        JsonNode bob = mapper.readTree(lines[1]);
+        assertTrue(bob.get("email").isNull());
+        assertFalse(bob.get("enabled").asBoolean());
+    }
+
+    @Test
+    void testExportGzip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.exportUsers(out, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(ndjson.startsWith("{\"id\":1,\"username\":\"alice\""));
+            assertTrue(ndjson.endsWith("\"enabled\":false,\"version\":0}\n"));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.config.ReadYourWritesWindow;
+import com.retailpulse.usermanagement.controller.BulkImportReportDTO;
+import com.retailpulse.usermanagement.controller.BulkImportResultDTO;
+import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.domain.UserChangeType;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceTest {
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserRoleIndex userRoleIndex;
+
+    @Mock
+    private UserCollectionVersion userCollectionVersion;
+
+    @Mock
+    private UserOutboxRepository userOutboxRepository;
+
+    @Mock
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(userJdbcRepository, passwordEncoder,
+                new UserCache(100, Duration.ofMinutes(10)), new UserLoadCoalescer(256, Duration.ofSeconds(2), new SimpleMeterRegistry()),
+                userRoleIndex, userCollectionVersion,
+                new UsernameFilter(userJdbcRepository, 1000, 0.01), userOutboxRepository, readYourWritesWindow, transactionTemplate, 100, 2);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportUsers_ValidatesEveryRowAndPersistsTheRestInChunks() {
+        // Arrange
+        List<CreateUserDTO> rows = List.of(
+                new CreateUserDTO("alice", "StrongPass1", "alice@mail.com", "Alice", List.of("CASHIER")),
+                new CreateUserDTO("bob", "weak", "bob@mail.com", "Bob", List.of("CASHIER")),
+                new CreateUserDTO("carol", "StrongPass1", "carol-at-mail", "Carol", List.of("CASHIER")),
+                new CreateUserDTO("ALICE", "StrongPass1", "alice2@mail.com", "Alice", List.of("CASHIER")),
+                new CreateUserDTO("dave", "StrongPass1", "dave@mail.com", "Dave", List.of("JANITOR")),
+                new CreateUserDTO("erin", "StrongPass1", "erin@mail.com", "Erin", List.of("MANAGER")),
+                new CreateUserDTO("frank", "StrongPass1", "frank@mail.com", "Frank", List.of("MANAGER")),
+                new CreateUserDTO("grace", "StrongPass1", "grace@mail.com", "Grace", List.of("ADMIN"))
+        );
+        runTransactionsInline();
+        when(userJdbcRepository.findIdsByUsernames(any()))
+                .thenReturn(Map.of("Frank", 99L))
+                .thenReturn(Map.of("alice", 1L, "erin", 2L))
+                .thenReturn(Map.of("grace", 3L));
+        when(passwordEncoder.hashPasswords(anyList()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(raw -> "hashed").toList());
+
+        // Act
+        BulkImportReportDTO report = userImportService.importUsers(rows);
+
+        // Assert
+        assertThat(report.total()).isEqualTo(8);
+        assertThat(report.created()).isEqualTo(3);
+        assertThat(report.failed()).isEqualTo(5);
+        assertThat(report.results()).extracting(BulkImportResultDTO::errorCode).containsExactly(
+                null, "INVALID_FORMAT", "INVALID_FORMAT", "USERNAME_EXIST", "INVALID_FORMAT", null, "USERNAME_EXIST", null);
+        assertThat(report.results()).extracting(BulkImportResultDTO::id).containsExactly(
+                1L, null, null, null, null, 2L, null, 3L);
+
+        ArgumentCaptor<List<User>> batches = ArgumentCaptor.forClass(List.class);
+        verify(userJdbcRepository, times(2)).batchInsert(batches.capture());
+        assertThat(batches.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+        assertThat(batches.getAllValues().get(0).get(0).getPassword()).isEqualTo("hashed");
+        verify(userOutboxRepository).appendAll(UserChangeType.CREATED, Map.of("alice", 1L, "erin", 2L));
+        verify(userOutboxRepository).appendAll(UserChangeType.CREATED, Map.of("grace", 3L));
+    }
+
+    @Test
+    void testImportUsers_FailedChunkIsReportedPerRow() {
+        // Arrange
+        List<CreateUserDTO> rows = List.of(
+                new CreateUserDTO("alice", "StrongPass1", "alice@mail.com", "Alice", List.of("CASHIER")));
+        runTransactionsInline();
+        when(userJdbcRepository.findIdsByUsernames(any())).thenReturn(Map.of());
+        when(passwordEncoder.hashPasswords(anyList())).thenReturn(List.of("hashed"));
+        doThrow(new DataIntegrityViolationException("duplicate")).when(userJdbcRepository).batchInsert(anyList());
+
+        // Act
+        BulkImportReportDTO report = userImportService.importUsers(rows);
+
+        // Assert
+        assertThat(report.created()).isZero();
+        assertThat(report.results().get(0).errorCode()).isEqualTo("IMPORT_FAILED");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportUsers_UsernameTakenConcurrently_ReportsThatRowAndInsertsTheRest() {
+        // Arrange
+        List<CreateUserDTO> rows = List.of(
+                new CreateUserDTO("alice", "StrongPass1", "alice@mail.com", "Alice", List.of("CASHIER")),
+                new CreateUserDTO("bob", "StrongPass1", "bob@mail.com", "Bob", List.of("CASHIER")));
+        runTransactionsInline();
+        when(userJdbcRepository.findIdsByUsernames(any()))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("Bob", 9L))
+                .thenReturn(Map.of("alice", 1L));
+        when(passwordEncoder.hashPasswords(anyList())).thenReturn(List.of("hashed", "hashed"));
+        doThrow(new DuplicateKeyException("Duplicate entry 'bob'"))
+                .doNothing()
+                .when(userJdbcRepository).batchInsert(anyList());
+
+        // Act
+        BulkImportReportDTO report = userImportService.importUsers(rows);
+
+        // Assert
+        assertThat(report.created()).isEqualTo(1);
+        assertThat(report.results()).extracting(BulkImportResultDTO::errorCode).containsExactly(null, "USERNAME_EXIST");
+        assertThat(report.results().get(0).id()).isEqualTo(1L);
+        ArgumentCaptor<List<User>> batches = ArgumentCaptor.forClass(List.class);
+        verify(userJdbcRepository, times(2)).batchInsert(batches.capture());
+        assertThat(batches.getAllValues().get(1)).extracting(User::getUsername).containsExactly("alice");
+        verify(userOutboxRepository).appendAll(UserChangeType.CREATED, Map.of("alice", 1L));
+    }
+
+    @Test
+    void testImportUsers_SaturatedHashingFailsOnlyThatChunk() {
+        // Arrange
+        List<CreateUserDTO> rows = List.of(
+                new CreateUserDTO("alice", "StrongPass1", "alice@mail.com", "Alice", List.of("CASHIER")),
+                new CreateUserDTO("bob", "StrongPass1", "bob@mail.com", "Bob", List.of("CASHIER")),
+                new CreateUserDTO("carol", "StrongPass1", "carol@mail.com", "Carol", List.of("CASHIER")));
+        runTransactionsInline();
+        when(userJdbcRepository.findIdsByUsernames(any()))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("carol", 3L));
+        when(passwordEncoder.hashPasswords(anyList()))
+                .thenThrow(new ServiceOverloadedException("PASSWORD_HASHING_BUSY", "busy"))
+                .thenReturn(List.of("hashed"));
+
+        // Act
+        BulkImportReportDTO report = userImportService.importUsers(rows);
+
+        // Assert
+        assertThat(report.created()).isEqualTo(1);
+        assertThat(report.results()).extracting(BulkImportResultDTO::errorCode)
+                .containsExactly("IMPORT_FAILED", "IMPORT_FAILED", null);
+        verify(userJdbcRepository, times(1)).batchInsert(anyList());
+    }
+
+    @Test
+    void testImportUsers_TooManyRows_ThrowsException() {
+        List<CreateUserDTO> rows = java.util.Collections.nCopies(101,
+                new CreateUserDTO("alice", "StrongPass1", "alice@mail.com", "Alice", List.of("CASHIER")));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> userImportService.importUsers(rows));
+        assertThat(ex.getErrorCode()).isEqualTo("IMPORT_TOO_LARGE");
+        verifyNoInteractions(userJdbcRepository, passwordEncoder);
+    }
+}
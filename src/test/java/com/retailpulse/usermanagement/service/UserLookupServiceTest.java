@@ -0,0 +1,115 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.controller.UserLookupDTO;
+import com.retailpulse.usermanagement.controller.UserLookupResultDTO;
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import com.retailpulse.usermanagement.repository.UserRepository;
+import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCache userCache;
+
+    private UserLookupService userLookupService;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(100, Duration.ofMinutes(10));
+        userLookupService = new UserLookupService(userRepository, userCache,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 3);
+    }
+
+    private static UserEntity userEntity(long id, String username) {
+        UserEntity userEntity = new UserEntity(username, "password", username, username + "@mail.com", true);
+        ReflectionTestUtils.setField(userEntity, "id", id);
+        return userEntity;
+    }
+
+    @Test
+    void testLookupUsers_ServesCachedUsersAndLoadsTheRestInOneQuery() {
+        // Arrange
+        userCache.put(new ViewUserDTO(1L, "alice", "alice@mail.com", "alice", List.of(), true, 0L));
+        when(userRepository.findAllByIdInOrUsernameIn(List.of(2L), List.of("Carol")))
+                .thenReturn(List.of(userEntity(2L, "bob"), userEntity(3L, "carol")));
+
+        // Act
+        UserLookupResultDTO result = userLookupService.lookupUsers(new UserLookupDTO(List.of(1L, 2L), List.of("Carol")));
+
+        // Assert
+        assertThat(result.ids()).containsOnlyKeys(1L, 2L);
+        assertThat(result.ids().get(2L).username()).isEqualTo("bob");
+        assertThat(result.usernames()).containsOnlyKeys("Carol");
+        assertThat(result.usernames().get("Carol").id()).isEqualTo(3L);
+        assertThat(userCache.getByUsername("Carol")).isNotNull();
+    }
+
+    @Test
+    void testLookupUsers_AllCached_SkipsDatabase() {
+        // Arrange
+        userCache.put(new ViewUserDTO(1L, "alice", "alice@mail.com", "alice", List.of(), true, 0L));
+
+        // Act
+        UserLookupResultDTO result = userLookupService.lookupUsers(new UserLookupDTO(List.of(1L), List.of("alice")));
+
+        // Assert
+        assertThat(result.ids()).containsOnlyKeys(1L);
+        assertThat(result.usernames()).containsOnlyKeys("alice");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testLookupUsers_UnknownIdentifiersAreLeftOut() {
+        // Arrange
+        when(userRepository.findAllByIdIn(List.of(9L))).thenReturn(List.of());
+
+        // Act
+        UserLookupResultDTO result = userLookupService.lookupUsers(new UserLookupDTO(List.of(9L, 9L), null));
+
+        // Assert
+        assertThat(result.ids()).isEmpty();
+        assertThat(result.usernames()).isEmpty();
+    }
+
+    @Test
+    void testLookupUsers_NullKeys_ThrowsValidationException() {
+        // Act & Assert
+        ValidationException ex = assertThrows(ValidationException.class, () ->
+                userLookupService.lookupUsers(new UserLookupDTO(Arrays.asList(1L, null), Arrays.asList((String) null))));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        assertThat(ex.getErrors()).extracting(FieldErrorDTO::field).containsExactly("ids", "usernames");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testLookupUsers_TooManyKeys_ThrowsException() {
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                userLookupService.lookupUsers(new UserLookupDTO(List.of(1L, 2L), List.of("carol", "dave"))));
+        assertThat(ex.getErrorCode()).isEqualTo("LOOKUP_TOO_LARGE");
+        verify(userRepository, never()).findAllByIdInOrUsernameIn(any(), any());
+    }
+}
@@ -0,0 +1,71 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.domain.UserChangeEvent;
+import com.retailpulse.usermanagement.domain.UserChangeType;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserOutboxPublisherTest {
+
+    @Mock
+    private UserOutboxRepository userOutboxRepository;
+
+    @Mock
+    private UserEventSink userEventSink;
+
+    private UserOutboxPublisher userOutboxPublisher;
+
+    @BeforeEach
+    void setUp() {
+        userOutboxPublisher = new UserOutboxPublisher(userOutboxRepository, userEventSink,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2);
+    }
+
+    private static UserChangeEvent event(long id) {
+        return new UserChangeEvent(id, UserChangeType.UPDATED, 10 + id, "user" + id, Instant.now());
+    }
+
+    @Test
+    void testPublishPending_DrainsFullBatchesUntilEmpty() {
+        // Arrange
+        List<UserChangeEvent> first = List.of(event(1), event(2));
+        List<UserChangeEvent> second = List.of(event(3));
+        when(userOutboxRepository.claimOldest(2)).thenReturn(first, second);
+
+        // Act
+        userOutboxPublisher.publishPending();
+
+        // Assert
+        verify(userEventSink).publish(first);
+        verify(userEventSink).publish(second);
+        verify(userOutboxRepository).deleteByIds(List.of(1L, 2L));
+        verify(userOutboxRepository).deleteByIds(List.of(3L));
+        verify(userOutboxRepository, times(2)).claimOldest(2);
+    }
+
+    @Test
+    void testPublishPending_SinkFailure_KeepsBatchForRetry() {
+        // Arrange
+        when(userOutboxRepository.claimOldest(2)).thenReturn(List.of(event(1), event(2)));
+        doThrow(new IllegalStateException("broker down")).when(userEventSink).publish(any());
+
+        // Act
+        userOutboxPublisher.publishPending();
+
+        // Assert
+        verify(userOutboxRepository, never()).deleteByIds(any());
+    }
+}
@@ -0,0 +1,145 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository.RoleHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class UserRoleIndexTest {
+
+    private static final int CASHIER = Authorities.CASHIER.getBit();
+    private static final int MANAGER = Authorities.MANAGER.getBit();
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    private UserRoleIndex userRoleIndex;
+
+    @BeforeEach
+    void setUp() {
+        userRoleIndex = new UserRoleIndex(userJdbcRepository);
+    }
+
+    private void givenUsers(long[][] users) {
+        doAnswer(invocation -> {
+            RoleHandler handler = invocation.getArgument(0);
+            for (long[] user : users) {
+                handler.accept(user[0], (int) user[1], user[2] == 1);
+            }
+            return null;
+        }).when(userJdbcRepository).streamRoles(any());
+    }
+
+    @Test
+    void testFindIdsFiltersByRoleAndEnabled() {
+        givenUsers(new long[][]{{1, CASHIER, 1}, {2, CASHIER | MANAGER, 0}, {3, MANAGER, 1}, {5, CASHIER, 1}});
+        userRoleIndex.rebuild();
+
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, null, 0, 10)).containsExactly(1L, 2L, 5L);
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, true, 0, 10)).containsExactly(1L, 5L);
+        assertThat(userRoleIndex.findIds(null, false, 0, 10)).containsExactly(2L);
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, null, 1, 1)).containsExactly(2L);
+        assertThat(userRoleIndex.findIds(Authorities.ADMIN, null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testFindIdsIntersectsRoleWithDisabledUsers() {
+        givenUsers(new long[][]{{1, CASHIER, 1}, {2, CASHIER | MANAGER, 0}, {3, MANAGER, 0}, {4, CASHIER, 1}, {7, CASHIER, 0}});
+        userRoleIndex.rebuild();
+
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, false, 0, 10)).containsExactly(2L, 7L);
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, false, 2, 10)).containsExactly(7L);
+        assertThat(userRoleIndex.findIds(null, false, 0, 10)).containsExactly(2L, 3L, 7L);
+        assertThat(userRoleIndex.findIds(Authorities.MANAGER, true, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testFindIdsAfterTheIndexRangeIsEmpty() {
+        givenUsers(new long[][]{{1, CASHIER, 1}});
+        userRoleIndex.rebuild();
+
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, null, Integer.MAX_VALUE - 1L, 10)).isEmpty();
+        assertThat(userRoleIndex.findIds(null, true, Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    void testWritesUpdateTheIndex() {
+        givenUsers(new long[][]{{1, CASHIER, 1}, {2, CASHIER, 1}});
+        userRoleIndex.rebuild();
+
+        userRoleIndex.put(2, MANAGER, true);
+        userRoleIndex.put(4, CASHIER, true);
+        userRoleIndex.remove(1);
+
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, null, 0, 10)).containsExactly(4L);
+        assertThat(userRoleIndex.findIds(Authorities.MANAGER, true, 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void testWritesDuringRebuildAreKept() {
+        doAnswer(invocation -> {
+            RoleHandler handler = invocation.getArgument(0);
+            handler.accept(1, CASHIER, true);
+            // A user created while the table is being read
+            userRoleIndex.put(8, CASHIER, true);
+            return null;
+        }).when(userJdbcRepository).streamRoles(any());
+
+        userRoleIndex.rebuild();
+
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, null, 0, 10)).isEqualTo(List.of(1L, 8L));
+    }
+
+    @Test
+    void testConcurrentCallersShareOneBuild() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            RoleHandler handler = invocation.getArgument(0);
+            scanning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            handler.accept(1, CASHIER, true);
+            return null;
+        }).when(userJdbcRepository).streamRoles(any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(userRoleIndex::ensureBuilt);
+            assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(userRoleIndex::ensureBuilt);
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userJdbcRepository, times(1)).streamRoles(any());
+        assertThat(userRoleIndex.findIds(Authorities.CASHIER, null, 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void testFindIdsBeforeBuildFails() {
+        assertThat(userRoleIndex.isReady()).isFalse();
+        assertThrows(IllegalStateException.class, () -> userRoleIndex.findIds(null, null, 0, 10));
+    }
+}
@@ -0,0 +1,116 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.config.ReadYourWritesWindow;
+import com.retailpulse.usermanagement.controller.UserPageDTO;
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import com.retailpulse.usermanagement.domain.Authorities;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
+import com.retailpulse.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 selects on the read endpoints by counting the JDBC statements each one prepares.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "user.export.fetch-size=100"
+})
+@Import({UserService.class, UserJdbcRepository.class, PasswordEncoder.class, UserCache.class, UserLoadCoalescer.class, UserLookupBatcher.class, UserRoleIndex.class, UsernameFilter.class, UserOutboxRepository.class, UserCollectionVersion.class, ReadYourWritesWindow.class, SimpleMeterRegistry.class})
+public class UserServiceQueryCountTest {
+
+    private static final int USER_COUNT = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long firstId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User.Builder("user" + i)
+                    .password("hashedPwd")
+                    .name("User " + i)
+                    .email("user" + i + "@mail.com")
+                    .authorities(Set.of(Authorities.CASHIER, Authorities.MANAGER))
+                    .build();
+            UserEntity saved = userRepository.save(UserMapper.toEntity(user));
+            if (firstId == null) {
+                firstId = saved.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllUsers_usesOneStatement() {
+        List<ViewUserDTO> users = userService.getAllUsers();
+
+        assertThat(users).hasSize(USER_COUNT);
+        assertThat(users).allSatisfy(user -> assertThat(user.roles()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUsers_pageUsesOneStatement() {
+        UserPageDTO page = userService.getUsers(null, 10);
+
+        assertThat(page.users()).hasSize(10);
+        assertThat(page.users()).allSatisfy(user -> assertThat(user.roles()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserById_usesOneStatement() {
+        Optional<ViewUserDTO> user = userService.getUserById(firstId);
+
+        assertThat(user).isPresent();
+        assertThat(user.get().roles()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserByUsername_usesOneStatement() {
+        Optional<ViewUserDTO> user = userService.getUserByUsername("user3");
+
+        assertThat(user).isPresent();
+        assertThat(user.get().roles()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
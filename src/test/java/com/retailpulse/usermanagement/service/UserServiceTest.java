@@ -1,22 +1,42 @@
 package com.retailpulse.usermanagement.service;
 
+import com.retailpulse.usermanagement.config.ReadYourWritesWindow;
 import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.controller.PatchUserDTO;
 import com.retailpulse.usermanagement.controller.UpdateUserDTO;
+import com.retailpulse.usermanagement.controller.UserPageDTO;
+import com.retailpulse.usermanagement.controller.UserSearchResultDTO;
 import com.retailpulse.usermanagement.controller.ViewUserDTO;
 import com.retailpulse.usermanagement.domain.Authorities;
 import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.domain.UserChangeType;
 import com.retailpulse.usermanagement.domain.exception.InvalidPasswordException;
 import com.retailpulse.usermanagement.infrastructure.persistence.UserEntity;
 import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
 import com.retailpulse.usermanagement.repository.UserRepository;
 import com.retailpulse.usermanagement.service.exception.BusinessException;
+import com.retailpulse.usermanagement.service.exception.PreconditionFailedException;
+import com.retailpulse.usermanagement.service.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.lang.reflect.Field;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -24,6 +44,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +53,39 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserRoleIndex userRoleIndex;
+
+    @Mock
+    private UserCollectionVersion userCollectionVersion;
+
+    @Mock
+    private UsernameFilter usernameFilter;
+
+    @Mock
+    private UserOutboxRepository userOutboxRepository;
+
+    @Mock
+    private UserLookupBatcher userLookupBatcher;
+
+    @Mock
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private UserLoadCoalescer userLoadCoalescer = new UserLoadCoalescer(256, Duration.ofSeconds(2), new SimpleMeterRegistry());
+
     @InjectMocks
     private UserService userService;
 
@@ -55,6 +106,42 @@ public class UserServiceTest {
         assertThat("jane").isEqualTo(result.get(1).username());
     }
 
+    @Test
+    void testGetUsers_ReturnsNextCursorWhenMoreRowsExist() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        UserEntity userEntity2 = new UserEntity("jane", "password", "Jane", "jane@mail.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity1, 5L);
+        idField.set(userEntity2, 6L);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(2))).thenReturn(List.of(userEntity1, userEntity2));
+
+        // Act
+        UserPageDTO result = userService.getUsers(4L, 1);
+
+        // Assert
+        assertThat(result.users()).hasSize(1);
+        assertThat(result.users().get(0).username()).isEqualTo("john");
+        assertThat(result.next()).isEqualTo(5L);
+    }
+
+    @Test
+    void testGetUsers_LastPageHasNoNextCursor() {
+        // Arrange
+        UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(userEntity1));
+
+        // Act
+        UserPageDTO result = userService.getUsers(null, 2);
+
+        // Assert
+        assertThat(result.users()).hasSize(1);
+        assertThat(result.next()).isNull();
+    }
+
     @Test
     void testGetUserById_UserExists() throws NoSuchFieldException, IllegalAccessException {
         // Arrange
@@ -75,9 +162,78 @@ public class UserServiceTest {
     }
 
     @Test
-    void testGetUserByUsername_UserExists() {
+    void testGetUserById_SecondLookupIsServedFromCache() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity1, 1L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity1));
+
+        // Act
+        userService.getUserById(1L);
+        Optional<ViewUserDTO> result = userService.getUserById(1L);
+        Optional<ViewUserDTO> byUsername = userService.getUserByUsername("john");
+
+        // Assert
+        assertThat(result.get().username()).isEqualTo("john");
+        assertThat(byUsername.get().id()).isEqualTo(1L);
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, never()).findByUsername("john");
+        assertThat(userCache.byIdStats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetUserById_LoadsThroughBatcherWhenEnabled() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity1, 1L);
+
+        when(userLookupBatcher.isEnabled()).thenReturn(true);
+        when(userLookupBatcher.findById(1L)).thenReturn(Optional.of(userEntity1));
+
+        // Act
+        Optional<ViewUserDTO> result = userService.getUserById(1L);
+
+        // Assert
+        assertThat(result.get().username()).isEqualTo("john");
+        verify(userRepository, never()).findById(anyLong());
+        assertThat(userCache.getById(1L)).isNotNull();
+    }
+
+    @Test
+    void testUpdateUser_InvalidatesCachedUser() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity1, 1L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity1));
+        when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity1);
+        userService.getUserById(1L);
+
+        // Act
+        userService.updateUser(1L, new UpdateUserDTO("Johnny", "johndoe@mail.com", List.of("ADMIN"), true));
+        Optional<ViewUserDTO> result = userService.getUserById(1L);
+
+        // Assert
+        assertThat(result.get().name()).isEqualTo("Johnny");
+        verify(userJdbcRepository).updateAuthorities("john", Set.of(Authorities.ADMIN), Set.of());
+        verify(userCache).invalidate(1L);
+        verify(userLoadCoalescer).forget(1L, "john");
+    }
+
+    @Test
+    void testGetUserByUsername_UserExists() throws NoSuchFieldException, IllegalAccessException {
         // Arrange
         UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity1, 1L);
 
         when(userRepository.findByUsername("john")).thenReturn(Optional.of(userEntity1));
 
@@ -91,26 +247,50 @@ public class UserServiceTest {
     }
 
     @Test
-    void testGetUserByName_UserExists() {
+    void testSearchUsers_ReturnsUsersInRankOrder() throws NoSuchFieldException, IllegalAccessException {
         // Arrange
         UserEntity userEntity1 = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        UserEntity userEntity2 = new UserEntity("johnny", "password", "Johnny", "johnny@mail.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity1, 1L);
+        idField.set(userEntity2, 2L);
 
-        when(userRepository.findByNameContaining("John")).thenReturn(Optional.of(userEntity1));
+        when(userRepository.searchIds("\"John\"", 3, 0)).thenReturn(List.of(2L, 1L, 3L));
+        when(userRepository.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(userEntity1, userEntity2));
 
         // Act
-        Optional<ViewUserDTO> result = userService.getUserByName("John");
+        UserSearchResultDTO result = userService.searchUsers("John", 0, 2);
 
         // Assert
-        assertThat(result.isPresent()).isTrue();
-        assertThat(result.get().username()).isEqualTo("john");
-        assertThat(result.get().name()).isEqualTo("John Doe");
+        assertThat(result.users()).extracting(ViewUserDTO::username).containsExactly("johnny", "john");
+        assertThat(result.hasMore()).isTrue();
+    }
+
+    @Test
+    void testSearchUsers_NoMatches() {
+        when(userRepository.searchIds("\"z z\"", 11, 10)).thenReturn(List.of());
+
+        UserSearchResultDTO result = userService.searchUsers(" z\"z ", 1, 10);
+
+        assertThat(result.users()).isEmpty();
+        assertThat(result.hasMore()).isFalse();
+        verify(userRepository, never()).findAllByIdIn(any());
+    }
+
+    @Test
+    void testSearchUsers_QueryTooShort_ThrowsException() {
+        BusinessException ex = assertThrows(BusinessException.class, () -> userService.searchUsers("\"a\"", 0, 10));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void testCreateUser_Success() {
+    void testCreateUser_Success() throws NoSuchFieldException, IllegalAccessException {
         // Arrange
         CreateUserDTO dto = new CreateUserDTO("john", "StrongPass1!", "john@example.com", "John Doe", List.of("ADMIN"));
 
+        when(usernameFilter.mightContain("john")).thenReturn(true);
         when(userRepository.existsByUsername("john")).thenReturn(false);
         when(passwordEncoder.hashPassword("StrongPass1!")).thenReturn("hashedPwd");
 
@@ -122,6 +302,9 @@ public class UserServiceTest {
                 .build();
 
         UserEntity userEntity = UserMapper.toEntity(user);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity, 1L);
 
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
 
@@ -131,12 +314,67 @@ public class UserServiceTest {
         // Assert
         assertThat(result.username()).isEqualTo("john");
         assertThat(result.name()).isEqualTo("John Doe");
+        verify(userJdbcRepository).updateAuthorities("john", Set.of(Authorities.ADMIN), Set.of());
+        verify(userRoleIndex).put(1L, Authorities.ADMIN.getBit(), true);
+        verify(usernameFilter).add("john");
+        verify(userOutboxRepository).append(UserChangeType.CREATED, 1L, "john");
+    }
+
+    @Test
+    void testCreateUser_DuplicateInsert_ThrowsUsernameExist() {
+        // Arrange
+        CreateUserDTO dto = new CreateUserDTO("john", "StrongPass1!", "john@example.com", "John Doe", List.of("ADMIN"));
+        when(passwordEncoder.hashPassword("StrongPass1!")).thenReturn("hashedPwd");
+        // What the repository proxy throws: the JPA dialect wraps Hibernate's exception without a DuplicateKeyException
+        SQLIntegrityConstraintViolationException sqlException =
+                new SQLIntegrityConstraintViolationException("Duplicate entry 'john' for key 'users.username'", "23000", 1062);
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, "insert into users",
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "users.username")));
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () -> userService.createUser(dto));
+        assertThat(ex.getErrorCode()).isEqualTo("USERNAME_EXIST");
+        verify(usernameFilter).add("john");
+    }
+
+    @Test
+    void testCreateUser_OtherIntegrityViolation_IsNotReportedAsUsernameExist() {
+        // Arrange
+        CreateUserDTO dto = new CreateUserDTO("john", "StrongPass1!", "john@example.com", "John Doe", List.of("ADMIN"));
+        when(passwordEncoder.hashPassword("StrongPass1!")).thenReturn("hashedPwd");
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException("Data too long for column 'name'"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(dto));
+        verify(usernameFilter, never()).add(any());
+    }
+
+    @Test
+    void testIsUsernameAvailable_DefiniteNegative_SkipsDatabase() {
+        // Arrange
+        when(usernameFilter.mightContain("newbie")).thenReturn(false);
+
+        // Act & Assert
+        assertThat(userService.isUsernameAvailable("newbie")).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testIsUsernameAvailable_PossibleMatch_ChecksDatabase() {
+        // Arrange
+        when(usernameFilter.mightContain("john")).thenReturn(true);
+        when(userRepository.existsByUsername("john")).thenReturn(true);
+
+        // Act & Assert
+        assertThat(userService.isUsernameAvailable("john")).isFalse();
     }
 
     @Test
     void testCreateUser_UsernameAlreadyExists_ThrowsException() {
         // Arrange
         CreateUserDTO dto = new CreateUserDTO("john", "StrongPass1!", "john@example.com", "John Doe", List.of("ADMIN"));
+        when(usernameFilter.mightContain("john")).thenReturn(true);
         when(userRepository.existsByUsername("john")).thenReturn(true);
 
         // Act & Assert
@@ -149,22 +387,34 @@ public class UserServiceTest {
     void testCreateUser_InvalidPassword_ThrowsException() {
         // Arrange
         CreateUserDTO dto = new CreateUserDTO("john", "password", "john@example.com", "John Doe", List.of("ADMIN"));
-        when(userRepository.existsByUsername("john")).thenReturn(false);
 
         // Act & Assert
         BusinessException ex = assertThrows(BusinessException.class, () -> userService.createUser(dto));
         assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        verifyNoInteractions(userRepository, passwordEncoder);
     }
 
     @Test
     void testCreateUser_InvalidEmail_ThrowsException() {
         // Arrange
         CreateUserDTO dto = new CreateUserDTO("john", "StrongPass1!", "johnexample.com", "John Doe", List.of("ADMIN"));
-        when(userRepository.existsByUsername("john")).thenReturn(false);
 
         // Act & Assert
         BusinessException ex = assertThrows(BusinessException.class, () -> userService.createUser(dto));
         assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    @Test
+    void testCreateUser_ReportsEveryInvalidField() {
+        // Arrange
+        CreateUserDTO dto = new CreateUserDTO("john", "password", "johnexample.com", "John Doe", List.of("OWNER"));
+
+        // Act & Assert
+        ValidationException ex = assertThrows(ValidationException.class, () -> userService.createUser(dto));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        assertThat(ex.getErrors()).extracting(FieldErrorDTO::field).containsExactly("password", "email", "roles");
+        assertThat(ex.getMessage()).endsWith("Unknown role OWNER. Failed to create user.");
     }
 
     @Test
@@ -184,14 +434,72 @@ public class UserServiceTest {
 
         when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
 
-        when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
-
         // Act
         ViewUserDTO result = userService.updateUser(id, dto);
 
         // Assert
         assertThat(result.username()).isEqualTo("john");
         assertThat(result.name()).isEqualTo("Updated Name");
+        // Nothing changed, so neither the row nor the authorities projection is written
+        verify(userRepository, never()).save(any());
+        verify(userJdbcRepository, never()).updateAuthorities(any(), any(), any());
+        verify(userCollectionVersion, never()).increment();
+        verify(userCache, never()).invalidate(id);
+        verifyNoInteractions(userOutboxRepository);
+    }
+
+    @Test
+    void testUpdateUser_AppliesRoleDelta() {
+        // Arrange
+        UserEntity userEntity = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        userEntity.setRoles(Authorities.toMask(Set.of(Authorities.ADMIN, Authorities.CASHIER)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
+
+        // Act
+        ViewUserDTO result = userService.updateUser(1L,
+                new UpdateUserDTO("John Doe", "johndoe@mail.com", List.of("CASHIER", "MANAGER"), true));
+
+        // Assert
+        assertThat(result.roles()).containsExactlyInAnyOrder("CASHIER", "MANAGER");
+        verify(userJdbcRepository).updateAuthorities("john", Set.of(Authorities.MANAGER), Set.of(Authorities.ADMIN));
+        verify(userOutboxRepository).append(UserChangeType.UPDATED, 1L, "john");
+        verify(userRoleIndex).put(1L, Authorities.toMask(Set.of(Authorities.CASHIER, Authorities.MANAGER)), true);
+    }
+
+    @Test
+    void testPatchUser_ChangesOnlyGivenFields() {
+        // Arrange
+        UserEntity userEntity = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        userEntity.setRoles(Authorities.ADMIN.getBit());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
+
+        // Act
+        ViewUserDTO result = userService.patchUser(1L, new PatchUserDTO(null, null, null, false), null);
+
+        // Assert
+        assertThat(result.enabled()).isFalse();
+        assertThat(result.name()).isEqualTo("John Doe");
+        assertThat(result.email()).isEqualTo("johndoe@mail.com");
+        assertThat(result.roles()).containsExactly("ADMIN");
+        verify(userJdbcRepository, never()).updateAuthorities(any(), any(), any());
+        verify(userCollectionVersion).increment();
+    }
+
+    @Test
+    void testPatchUser_NoChanges_SkipsWrite() {
+        // Arrange
+        UserEntity userEntity = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+
+        // Act
+        ViewUserDTO result = userService.patchUser(1L, new PatchUserDTO("John Doe", null, null, true), null);
+
+        // Assert
+        assertThat(result.name()).isEqualTo("John Doe");
+        verify(userRepository, never()).save(any());
+        verify(userRoleIndex, never()).put(anyLong(), anyInt(), anyBoolean());
     }
 
     @Test
@@ -213,40 +521,33 @@ public class UserServiceTest {
         Long id = 1L;
         UpdateUserDTO dto = new UpdateUserDTO("Updated Name", "johnexample.com", List.of("ADMIN"), true);
 
-        User user = new User.Builder("john")
-                .password("hashedPwd")
-                .name("Updated Name")
-                .email("john@example.com")
-                .authorities(Set.of(Authorities.ADMIN))
-                .build();
-
-        UserEntity userEntity = UserMapper.toEntity(user);
-
-        when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
-
         // Act & Assert
         BusinessException ex = assertThrows(BusinessException.class, () -> userService.updateUser(id, dto));
         assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void testDeleteUser_Success() {
         Long id = 1L;
 
-        when(userRepository.existsById(id)).thenReturn(true);
+        UserEntity userEntity = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
 
         // Act
         userService.deleteUser(id);
 
         // Assert
-        verify(userRepository, times(1)).deleteById(id);
+        verify(userRepository, times(1)).delete(userEntity);
+        verify(userOutboxRepository).append(UserChangeType.DELETED, id, "john");
+        verify(userLoadCoalescer).forget(id, "john");
     }
 
     @Test
     void testDeleteUser_UserNotFound_ThrowsException() {
         Long id = 1L;
 
-        when(userRepository.existsById(id)).thenReturn(false);
+        when(userRepository.findById(id)).thenReturn(Optional.empty());
 
         // Act & Assert
         BusinessException ex = assertThrows(BusinessException.class, () -> userService.deleteUser(id));
@@ -272,6 +573,50 @@ public class UserServiceTest {
 
         // Assert
         verify(userRepository, times(1)).save(any(UserEntity.class));
+        verify(userOutboxRepository).append(UserChangeType.PASSWORD_CHANGED, id, "john");
+        verify(userCollectionVersion).increment();
+        verify(userLoadCoalescer).forget(id, "john");
+    }
+
+    @Test
+    void testChangePassword_PasswordChangedSinceVerified_ThrowsPreconditionFailed() {
+        // Arrange
+        Long id = 1L;
+        String oldPassword = "OldPass1!";
+        String newPassword = "NewStrongPass1!";
+
+        UserEntity verifiedEntity = new UserEntity("john", "verifiedHash", "John Doe", "johndoe@example.com", true);
+        UserEntity currentEntity = new UserEntity("john", "concurrentHash", "John Doe", "johndoe@example.com", true);
+        when(userRepository.findById(id)).thenReturn(Optional.of(verifiedEntity), Optional.of(currentEntity));
+
+        when(passwordEncoder.matches(oldPassword, "verifiedHash")).thenReturn(true);
+        when(passwordEncoder.hashPassword(newPassword)).thenReturn("hashedNewPwd");
+
+        // Act & Assert
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class, () -> userService.changePassword(id, oldPassword, newPassword));
+        assertThat(ex.getErrorCode()).isEqualTo("VERSION_MISMATCH");
+        verify(userRepository, never()).save(any());
+        verify(userOutboxRepository, never()).append(any(), anyLong(), any());
+    }
+
+    @Test
+    void testChangePassword_ConcurrentUpdate_ThrowsPreconditionFailed() {
+        // Arrange
+        Long id = 1L;
+        String oldPassword = "OldPass1!";
+        String newPassword = "NewStrongPass1!";
+
+        UserEntity userEntity = new UserEntity("john", "verifiedHash", "John Doe", "johndoe@example.com", true);
+        when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
+
+        when(passwordEncoder.matches(oldPassword, "verifiedHash")).thenReturn(true);
+        when(passwordEncoder.hashPassword(newPassword)).thenReturn("hashedNewPwd");
+        when(userRepository.save(userEntity)).thenThrow(new ObjectOptimisticLockingFailureException(UserEntity.class, id));
+
+        // Act & Assert
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class, () -> userService.changePassword(id, oldPassword, newPassword));
+        assertThat(ex.getErrorCode()).isEqualTo("VERSION_MISMATCH");
+        verify(userCache).invalidate(id);
     }
 
     @Test
@@ -304,4 +649,138 @@ public class UserServiceTest {
         BusinessException ex = assertThrows(BusinessException.class, () -> userService.changePassword(id, oldPassword, newPassword));
         assertThat(ex.getErrorCode()).isEqualTo("INVALID_OLD_PASSWORD");
     }
+
+    @Test
+    void testChangePassword_MalformedNewPassword_UpgradesOutdatedHash() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        Long id = 1L;
+        String oldPassword = "OldPass1!";
+
+        UserEntity userEntity = new UserEntity("john", "outdatedHash", "John Doe", "johndoe@example.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity, id);
+        when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
+
+        when(passwordEncoder.matches(oldPassword, "outdatedHash")).thenReturn(true);
+        when(passwordEncoder.needsRehash("outdatedHash")).thenReturn(true);
+        when(passwordEncoder.hashPassword(oldPassword)).thenReturn("currentHash");
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () -> userService.changePassword(id, oldPassword, "short"));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        verify(userRepository).replacePasswordHash(id, "outdatedHash", "currentHash");
+        // A rehash is not a password change: no version bump, no event
+        verify(userRepository, never()).save(any());
+        verify(userCollectionVersion, never()).increment();
+        verify(userOutboxRepository, never()).append(any(), anyLong(), any());
+    }
+
+    @Test
+    void testChangePassword_MalformedNewPassword_UpgradeLosingARaceIsIgnored() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        Long id = 1L;
+        String oldPassword = "OldPass1!";
+
+        UserEntity userEntity = new UserEntity("john", "outdatedHash", "John Doe", "johndoe@example.com", true);
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(userEntity, id);
+        when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
+
+        when(passwordEncoder.matches(oldPassword, "outdatedHash")).thenReturn(true);
+        when(passwordEncoder.needsRehash("outdatedHash")).thenReturn(true);
+        when(passwordEncoder.hashPassword(oldPassword)).thenReturn("currentHash");
+        // The stored hash changed since it was verified
+        when(userRepository.replacePasswordHash(id, "outdatedHash", "currentHash")).thenReturn(0);
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () -> userService.changePassword(id, oldPassword, "short"));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+        verify(userOutboxRepository, never()).append(any(), anyLong(), any());
+    }
+
+    @Test
+    void testChangePassword_MalformedNewPassword_LeavesCurrentHashAlone() {
+        // Arrange
+        Long id = 1L;
+        String oldPassword = "OldPass1!";
+
+        UserEntity userEntity = new UserEntity("john", "currentHash", "John Doe", "johndoe@example.com", true);
+        when(userRepository.findById(id)).thenReturn(Optional.of(userEntity));
+
+        when(passwordEncoder.matches(oldPassword, "currentHash")).thenReturn(true);
+        when(passwordEncoder.needsRehash("currentHash")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> userService.changePassword(id, oldPassword, "short"));
+        verify(passwordEncoder, never()).hashPassword(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetUsersByRole_ReturnsIndexedUsersThatStillMatch() throws NoSuchFieldException, IllegalAccessException {
+        // Arrange
+        UserEntity cashier = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        cashier.setRoles(Authorities.CASHIER.getBit());
+        UserEntity noLongerCashier = new UserEntity("jane", "password", "Jane", "jane@mail.com", true);
+        noLongerCashier.setRoles(Authorities.MANAGER.getBit());
+        Field idField = UserEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(cashier, 3L);
+        idField.set(noLongerCashier, 7L);
+
+        when(userRoleIndex.findIds(Authorities.CASHIER, true, 0L, 3)).thenReturn(List.of(3L, 7L, 9L));
+        when(userRepository.findAllByIdIn(List.of(3L, 7L))).thenReturn(List.of(noLongerCashier, cashier));
+
+        // Act
+        UserPageDTO result = userService.getUsersByRole("cashier", true, null, 2);
+
+        // Assert
+        assertThat(result.users()).extracting(ViewUserDTO::username).containsExactly("john");
+        assertThat(result.next()).isEqualTo(7L);
+    }
+
+    @Test
+    void testGetUsersByRole_UnknownRole_ThrowsException() {
+        BusinessException ex = assertThrows(BusinessException.class, () -> userService.getUsersByRole("JANITOR", null, null, 10));
+        assertThat(ex.getErrorCode()).isEqualTo("INVALID_FORMAT");
+    }
+
+    @Test
+    void testUpdateUser_StaleVersion_ThrowsPreconditionFailed() {
+        // Arrange
+        UserEntity userEntity = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        UpdateUserDTO dto = new UpdateUserDTO("Johnny", "johndoe@mail.com", List.of("ADMIN"), true);
+
+        // Act & Assert
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class, () -> userService.updateUser(1L, dto, 5L));
+        assertThat(ex.getErrorCode()).isEqualTo("VERSION_MISMATCH");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateUser_BumpsCollectionVersion() {
+        // Arrange
+        UserEntity userEntity = new UserEntity("john", "password", "John Doe", "johndoe@mail.com", true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
+
+        // Act
+        userService.updateUser(1L, new UpdateUserDTO("Johnny", "johndoe@mail.com", List.of(), true), 0L);
+
+        // Assert
+        verify(userCollectionVersion).increment();
+    }
+
+    @Test
+    void testGetUserVersionById_UsesCacheBeforeDatabase() {
+        // Arrange
+        userCache.put(new ViewUserDTO(1L, "john", "johndoe@mail.com", "John Doe", List.of(), true, 7L));
+
+        // Act & Assert
+        assertThat(userService.getUserVersionById(1L)).contains(7L);
+        verify(userRepository, never()).findVersionById(any());
+    }
 }
@@ -0,0 +1,69 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.config.ReadYourWritesWindow;
+import com.retailpulse.usermanagement.controller.UpdateUserDTO;
+import com.retailpulse.usermanagement.controller.UserPageDTO;
+import com.retailpulse.usermanagement.controller.ViewUserDTO;
+import com.retailpulse.usermanagement.domain.User;
+import com.retailpulse.usermanagement.infrastructure.persistence.UserMapper;
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import com.retailpulse.usermanagement.repository.UserOutboxRepository;
+import com.retailpulse.usermanagement.repository.UserRepository;
+import com.retailpulse.usermanagement.service.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs outside a test transaction so every service call commits, as it does in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "user.export.fetch-size=100"
+})
+@Import({UserService.class, UserJdbcRepository.class, PasswordEncoder.class, UserCache.class, UserLoadCoalescer.class, UserLookupBatcher.class, UserRoleIndex.class, UsernameFilter.class, UserOutboxRepository.class,
+        UserCollectionVersion.class, ReadYourWritesWindow.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserServiceVersionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void updateBumpsUserAndCollectionVersions() {
+        Long id = userRepository.save(UserMapper.toEntity(new User.Builder("john").password("hashed")
+                .authorities(Set.of()).build())).getId();
+        long collectionVersion = userService.getCollectionVersion();
+        UpdateUserDTO update = new UpdateUserDTO("Johnny", null, List.of("CASHIER"), true);
+
+        ViewUserDTO updated = userService.updateUser(id, update, 0L);
+
+        assertThat(updated.version()).isEqualTo(1L);
+        assertThat(userService.getUserVersionById(id)).contains(1L);
+        assertThat(userService.getCollectionVersion()).isEqualTo(collectionVersion + 1);
+        Versioned<UserPageDTO> page = userService.getUsersWithVersion(null, 10);
+        assertThat(page.version()).isEqualTo(collectionVersion + 1);
+        assertThat(page.content().users()).extracting(ViewUserDTO::name).containsExactly("Johnny");
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(id, update, 0L));
+    }
+}
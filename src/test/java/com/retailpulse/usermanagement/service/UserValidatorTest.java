@@ -0,0 +1,60 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.controller.CreateUserDTO;
+import com.retailpulse.usermanagement.controller.FieldErrorDTO;
+import com.retailpulse.usermanagement.controller.PatchUserDTO;
+import com.retailpulse.usermanagement.controller.UpdateUserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserValidatorTest {
+
+    @Test
+    void validCreateHasNoErrors() {
+        CreateUserDTO dto = new CreateUserDTO("john", "StrongPass1!", "john@example.com", "John Doe", List.of("ADMIN"));
+
+        assertThat(UserValidator.validate(dto)).isEmpty();
+    }
+
+    @Test
+    void createReportsEveryInvalidFieldAtOnce() {
+        CreateUserDTO dto = new CreateUserDTO(" ", "password", "johnexample.com", "John Doe", List.of("ADMIN", "OWNER"));
+
+        List<FieldErrorDTO> errors = UserValidator.validate(dto);
+
+        assertThat(errors).extracting(FieldErrorDTO::field).containsExactly("username", "password", "email", "roles");
+        assertThat(errors.get(3).message()).isEqualTo("Unknown role OWNER.");
+    }
+
+    @Test
+    void usernameMustFitTheColumn() {
+        String longest = "u".repeat(45);
+
+        assertThat(UserValidator.validate(new CreateUserDTO(longest, "StrongPass1!", null, "John Doe", null))).isEmpty();
+        assertThat(UserValidator.validate(new CreateUserDTO(longest + "u", "StrongPass1!", null, "John Doe", null)))
+                .extracting(FieldErrorDTO::message).containsExactly("Username must be at most 45 characters.");
+    }
+
+    @Test
+    void updateAndPatchSkipAbsentFields() {
+        assertThat(UserValidator.validate(new UpdateUserDTO("John", null, null, null))).isEmpty();
+        assertThat(UserValidator.validate(new PatchUserDTO(null, null, null, null))).isEmpty();
+        assertThat(UserValidator.validate(new PatchUserDTO(null, "johnexample.com", List.of("admin"), null)))
+                .extracting(FieldErrorDTO::field).containsExactly("email", "roles");
+    }
+
+    @Test
+    void passwordNeedsLengthLetterAndDigitFromTheAllowedCharacters() {
+        assertThat(UserValidator.isWellFormedPassword("StrongPass1")).isTrue();
+        assertThat(UserValidator.isWellFormedPassword("12345678a@$!%*?&")).isTrue();
+        assertThat(UserValidator.isWellFormedPassword("Short1")).isFalse();
+        assertThat(UserValidator.isWellFormedPassword("lettersonly")).isFalse();
+        assertThat(UserValidator.isWellFormedPassword("123456789")).isFalse();
+        assertThat(UserValidator.isWellFormedPassword("Strong Pass1")).isFalse();
+        assertThat(UserValidator.isWellFormedPassword("Stärkeres1")).isFalse();
+        assertThat(UserValidator.isWellFormedPassword(null)).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.retailpulse.usermanagement.service;
+
+import com.retailpulse.usermanagement.repository.UserJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class UsernameFilterTest {
+
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    private UsernameFilter usernameFilter;
+
+    @BeforeEach
+    void setUp() {
+        usernameFilter = new UsernameFilter(userJdbcRepository, 10_000, 0.01);
+    }
+
+    private void givenUsernames(List<String> usernames) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            usernames.forEach(consumer);
+            return null;
+        }).when(userJdbcRepository).streamUsernames(any());
+    }
+
+    @Test
+    void testEveryUsernameMightBeTakenUntilBuilt() {
+        assertThat(usernameFilter.isReady()).isFalse();
+        assertThat(usernameFilter.mightContain("anyone")).isTrue();
+    }
+
+    @Test
+    void testNoFalseNegativesIgnoringCase() {
+        List<String> usernames = IntStream.range(0, 5_000).mapToObj(i -> "cashier" + i).toList();
+        givenUsernames(usernames);
+        usernameFilter.build();
+
+        assertThat(usernames).allMatch(usernameFilter::mightContain);
+        assertThat(usernameFilter.mightContain("CASHIER42")).isTrue();
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        givenUsernames(IntStream.range(0, 10_000).mapToObj(i -> "cashier" + i).toList());
+        usernameFilter.build();
+
+        long falsePositives = IntStream.range(0, 10_000).mapToObj(i -> "manager" + i).filter(usernameFilter::mightContain).count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void testAddedUsernamesSurviveRebuild() {
+        givenUsernames(List.of("alice"));
+        usernameFilter.build();
+        usernameFilter.add("bob");
+        assertThat(usernameFilter.mightContain("bob")).isTrue();
+
+        doAnswer(invocation -> {
+            // Created while the rebuild's query is already past this row
+            usernameFilter.add("carol");
+            invocation.<Consumer<String>>getArgument(0).accept("alice");
+            return null;
+        }).when(userJdbcRepository).streamUsernames(any());
+        usernameFilter.rebuild();
+
+        assertThat(usernameFilter.mightContain("alice")).isTrue();
+        assertThat(usernameFilter.mightContain("carol")).isTrue();
+    }
+}
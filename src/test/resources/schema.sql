@@ -0,0 +1,14 @@
+-- The authorities projection and the outbox are written with JDBC and have no entity, so Hibernate does not create them
+CREATE TABLE IF NOT EXISTS authorities (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    authority VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(45) NOT NULL,
+    occurred_at TIMESTAMP(3) NOT NULL
+);